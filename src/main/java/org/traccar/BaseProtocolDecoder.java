@@ -1,5 +1,5 @@
 /*
- * Copyright 2012 - 2024 Anton Tananaev (anton@traccar.org)
+ * Copyright 2012 - 2025 Anton Tananaev (anton@traccar.org)
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -21,6 +21,7 @@ import org.traccar.config.ConfigKey;
 import org.traccar.config.Keys;
 import org.traccar.database.CommandsManager;
 import org.traccar.database.MediaManager;
+import org.traccar.database.MetricsManager;
 import org.traccar.database.StatisticsManager;
 import org.traccar.helper.UnitsConverter;
 import org.traccar.helper.model.AttributeUtil;
@@ -39,6 +40,7 @@ import java.util.Date;
 import java.util.HashSet;
 import java.util.Set;
 import java.util.TimeZone;
+import java.util.concurrent.atomic.LongAdder;
 
 public abstract class BaseProtocolDecoder extends ExtendedObjectDecoder {
 
@@ -49,6 +51,7 @@ public abstract class BaseProtocolDecoder extends ExtendedObjectDecoder {
     private CacheManager cacheManager;
     private ConnectionManager connectionManager;
     private StatisticsManager statisticsManager;
+    private LongAdder messagesDecoded;
     private MediaManager mediaManager;
     private CommandsManager commandsManager;
 
@@ -77,6 +80,12 @@ public abstract class BaseProtocolDecoder extends ExtendedObjectDecoder {
         this.statisticsManager = statisticsManager;
     }
 
+    @Inject
+    public void setMetricsManager(MetricsManager metricsManager) {
+        messagesDecoded = metricsManager.counter(
+                "traccar_messages_decoded_total", "Messages decoded by protocol", "protocol", getProtocolName());
+    }
+
     @Inject
     public void setMediaManager(MediaManager mediaManager) {
         this.mediaManager = mediaManager;
@@ -163,6 +172,9 @@ public abstract class BaseProtocolDecoder extends ExtendedObjectDecoder {
         if (statisticsManager != null) {
             statisticsManager.registerMessageReceived();
         }
+        if (messagesDecoded != null) {
+            messagesDecoded.increment();
+        }
         Set<Long> deviceIds = new HashSet<>();
         if (decodedMessage != null) {
             if (decodedMessage instanceof Position position) {
@@ -1,5 +1,5 @@
 /*
- * Copyright 2012 - 2024 Anton Tananaev (anton@traccar.org)
+ * Copyright 2012 - 2025 Anton Tananaev (anton@traccar.org)
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -21,6 +21,11 @@ import com.google.inject.ProvisionException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.traccar.broadcast.BroadcastService;
+import org.traccar.database.DeviceUpdateManager;
+import org.traccar.database.StatisticsManager;
+import org.traccar.forward.PositionForwarder;
+import org.traccar.geocoder.GeocoderCache;
+import org.traccar.handler.DatabaseHandler;
 import org.traccar.schedule.ScheduleManager;
 import org.traccar.storage.DatabaseModule;
 import org.traccar.web.WebModule;
@@ -123,9 +128,10 @@ public final class Main {
 
             var services = new ArrayList<LifecycleObject>();
             for (var clazz : List.of(
-                    ScheduleManager.class, ServerManager.class, WebServer.class, BroadcastService.class)) {
-                var service = injector.getInstance(clazz);
-                if (service != null) {
+                    ScheduleManager.class, ServerManager.class, DatabaseHandler.class, PositionForwarder.class,
+                    DeviceUpdateManager.class, StatisticsManager.class, GeocoderCache.class, WebServer.class,
+                    BroadcastService.class)) {
+                if (injector.getInstance(clazz) instanceof LifecycleObject service) {
                     service.start();
                     services.add(service);
                 }
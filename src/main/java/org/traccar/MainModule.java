@@ -35,6 +35,7 @@ import org.traccar.broadcast.NullBroadcastService;
 import org.traccar.config.Config;
 import org.traccar.config.Keys;
 import org.traccar.database.LdapProvider;
+import org.traccar.database.MetricsManager;
 import org.traccar.database.OpenIdProvider;
 import org.traccar.database.StatisticsManager;
 import org.traccar.forward.EventForwarder;
@@ -44,12 +45,14 @@ import org.traccar.forward.EventForwarderKafka;
 import org.traccar.forward.EventForwarderMqtt;
 import org.traccar.forward.PositionForwarder;
 import org.traccar.forward.PositionForwarderJson;
+import org.traccar.forward.PositionForwarderBatch;
 import org.traccar.forward.PositionForwarderAmqp;
 import org.traccar.forward.PositionForwarderKafka;
 import org.traccar.forward.PositionForwarderRedis;
 import org.traccar.forward.PositionForwarderUrl;
 import org.traccar.forward.PositionForwarderMqtt;
 import org.traccar.forward.PositionForwarderWialon;
+import org.traccar.forward.PositionSpool;
 import org.traccar.geocoder.*;
 import org.traccar.geolocation.GeolocationProvider;
 import org.traccar.geolocation.GoogleGeolocationProvider;
@@ -68,6 +71,7 @@ import org.traccar.mail.LogMailManager;
 import org.traccar.mail.MailManager;
 import org.traccar.mail.SmtpMailManager;
 import org.traccar.session.cache.CacheManager;
+import org.traccar.session.cache.RecentPositionCache;
 import org.traccar.sms.HttpSmsClient;
 import org.traccar.sms.SmsManager;
 import org.traccar.sms.SnsSmsClient;
@@ -85,6 +89,7 @@ import jakarta.ws.rs.client.Client;
 import jakarta.ws.rs.client.ClientBuilder;
 import java.io.IOException;
 import java.net.URISyntaxException;
+import java.nio.file.Paths;
 import java.util.Properties;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
@@ -187,7 +192,17 @@ public class MainModule extends AbstractModule {
 
     @Singleton
     @Provides
-    public static Geocoder provideGeocoder(Config config, Client client, StatisticsManager statisticsManager) {
+    public static GeocoderCache provideGeocoderCache(Config config, MetricsManager metricsManager) {
+        if (config.getBoolean(Keys.GEOCODER_ENABLE) && config.getInteger(Keys.GEOCODER_CACHE_SIZE) > 0) {
+            return new GeocoderCache(config, metricsManager);
+        }
+        return null;
+    }
+
+    @Singleton
+    @Provides
+    public static Geocoder provideGeocoder(
+            Config config, Client client, StatisticsManager statisticsManager, @Nullable GeocoderCache geocoderCache) {
         if (config.getBoolean(Keys.GEOCODER_ENABLE)) {
             String type = config.getString(Keys.GEOCODER_TYPE);
             String url = config.getString(Keys.GEOCODER_URL);
@@ -196,32 +211,35 @@ public class MainModule extends AbstractModule {
             String formatString = config.getString(Keys.GEOCODER_FORMAT);
             AddressFormat addressFormat = formatString != null ? new AddressFormat(formatString) : new AddressFormat();
 
-            int cacheSize = config.getInteger(Keys.GEOCODER_CACHE_SIZE);
             Geocoder geocoder = switch (type) {
                 case "pluscodes" -> new PlusCodesGeocoder();
-                case "amap" -> new AmapGeocoder(client, url, key, cacheSize, addressFormat);// 高德逆地址解码
-                case "qq" -> new QqGeocoder(client, url, key, cacheSize, addressFormat);    // 腾讯逆地址解码
-                case "nominatim" -> new NominatimGeocoder(client, url, key, language, cacheSize, addressFormat);
-                case "locationiq" -> new LocationIqGeocoder(client, url, key, language, cacheSize, addressFormat);
-                case "gisgraphy" -> new GisgraphyGeocoder(client, url, cacheSize, addressFormat);
-                case "mapquest" -> new MapQuestGeocoder(client, url, key, cacheSize, addressFormat);
-                case "opencage" -> new OpenCageGeocoder(client, url, key, language, cacheSize, addressFormat);
-                case "bingmaps" -> new BingMapsGeocoder(client, url, key, cacheSize, addressFormat);
-                case "factual" -> new FactualGeocoder(client, url, key, cacheSize, addressFormat);
-                case "geocodefarm" -> new GeocodeFarmGeocoder(client, key, language, cacheSize, addressFormat);
-                case "geocodexyz" -> new GeocodeXyzGeocoder(client, key, cacheSize, addressFormat);
-                case "ban" -> new BanGeocoder(client, cacheSize, addressFormat);
-                case "here" -> new HereGeocoder(client, url, key, language, cacheSize, addressFormat);
-                case "mapmyindia" -> new MapmyIndiaGeocoder(client, url, key, cacheSize, addressFormat);
-                case "tomtom" -> new TomTomGeocoder(client, url, key, cacheSize, addressFormat);
-                case "positionstack" -> new PositionStackGeocoder(client, key, cacheSize, addressFormat);
-                case "mapbox" -> new MapboxGeocoder(client, key, cacheSize, addressFormat);
-                case "maptiler" -> new MapTilerGeocoder(client, key, cacheSize, addressFormat);
-                case "geoapify" -> new GeoapifyGeocoder(client, key, language, cacheSize, addressFormat);
-                case "geocodejson" -> new GeocodeJsonGeocoder(client, url, key, language, cacheSize, addressFormat);
-                default -> new GoogleGeocoder(client, url, key, language, cacheSize, addressFormat);
+                case "amap" -> new AmapGeocoder(client, url, key, addressFormat);// 高德逆地址解码
+                case "qq" -> new QqGeocoder(client, url, key, addressFormat);    // 腾讯逆地址解码
+                case "nominatim" -> new NominatimGeocoder(client, url, key, language, addressFormat);
+                case "locationiq" -> new LocationIqGeocoder(client, url, key, language, addressFormat);
+                case "gisgraphy" -> new GisgraphyGeocoder(client, url, addressFormat);
+                case "mapquest" -> new MapQuestGeocoder(client, url, key, addressFormat);
+                case "opencage" -> new OpenCageGeocoder(client, url, key, language, addressFormat);
+                case "bingmaps" -> new BingMapsGeocoder(client, url, key, addressFormat);
+                case "factual" -> new FactualGeocoder(client, url, key, addressFormat);
+                case "geocodefarm" -> new GeocodeFarmGeocoder(client, key, language, addressFormat);
+                case "geocodexyz" -> new GeocodeXyzGeocoder(client, key, addressFormat);
+                case "ban" -> new BanGeocoder(client, addressFormat);
+                case "here" -> new HereGeocoder(client, url, key, language, addressFormat);
+                case "mapmyindia" -> new MapmyIndiaGeocoder(client, url, key, addressFormat);
+                case "tomtom" -> new TomTomGeocoder(client, url, key, addressFormat);
+                case "positionstack" -> new PositionStackGeocoder(client, key, addressFormat);
+                case "mapbox" -> new MapboxGeocoder(client, key, addressFormat);
+                case "maptiler" -> new MapTilerGeocoder(client, key, addressFormat);
+                case "geoapify" -> new GeoapifyGeocoder(client, key, language, addressFormat);
+                case "geocodejson" -> new GeocodeJsonGeocoder(client, url, key, language, addressFormat);
+                default -> new GoogleGeocoder(client, url, key, language, addressFormat);
             };
             geocoder.setStatisticsManager(statisticsManager);
+            geocoder = new ThrottlingGeocoder(config, geocoder);
+            if (geocoderCache != null) {
+                return new CachingGeocoder(geocoder, geocoderCache);
+            }
             return geocoder;
         }
         return null;
@@ -300,9 +318,20 @@ public class MainModule extends AbstractModule {
     @Singleton
     @Provides
     public static FilterHandler provideFilterHandler(
-            Config config, CacheManager cacheManager, Storage storage, StatisticsManager statisticsManager) {
+            Config config, CacheManager cacheManager, Storage storage, StatisticsManager statisticsManager,
+            @Nullable RecentPositionCache recentPositionCache) {
         if (config.getBoolean(Keys.FILTER_ENABLE)) {
-            return new FilterHandler(config, cacheManager, storage, statisticsManager);
+            return new FilterHandler(config, cacheManager, storage, statisticsManager, recentPositionCache);
+        }
+        return null;
+    }
+
+    @Singleton
+    @Provides
+    public static RecentPositionCache provideRecentPositionCache(
+            Config config, Storage storage, MetricsManager metricsManager, CacheManager cacheManager) {
+        if (config.getBoolean(Keys.FILTER_ENABLE) && config.getBoolean(Keys.FILTER_RELATIVE)) {
+            return new RecentPositionCache(config, storage, metricsManager, cacheManager);
         }
         return null;
     }
@@ -336,6 +365,17 @@ public class MainModule extends AbstractModule {
         return null;
     }
 
+    @Singleton
+    @Provides
+    public static PositionSpool providePositionSpool(Config config) throws IOException {
+        if (config.hasKey(Keys.FORWARD_URL) && config.hasKey(Keys.FORWARD_SPOOL_PATH)) {
+            return new PositionSpool(
+                    Paths.get(config.getString(Keys.FORWARD_SPOOL_PATH)),
+                    config.getLong(Keys.FORWARD_SPOOL_SEGMENT_SIZE));
+        }
+        return null;
+    }
+
     @Singleton
     @Provides
     public static PositionForwarder providePositionForwarder(
@@ -344,6 +384,7 @@ public class MainModule extends AbstractModule {
         if (config.hasKey(Keys.FORWARD_URL)) {
             return switch (config.getString(Keys.FORWARD_TYPE)) {
                 case "json" -> new PositionForwarderJson(config, client, objectMapper, cacheManager);
+                case "batch" -> new PositionForwarderBatch(config, client, objectMapper);
                 case "amqp" -> new PositionForwarderAmqp(config, objectMapper);
                 case "kafka" -> new PositionForwarderKafka(config, objectMapper);
                 case "mqtt" -> new PositionForwarderMqtt(config, objectMapper);
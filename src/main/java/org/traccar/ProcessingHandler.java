@@ -23,6 +23,7 @@ import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
 import org.traccar.config.Config;
 import org.traccar.database.BufferingManager;
+import org.traccar.database.MetricsManager;
 import org.traccar.database.NotificationManager;
 import org.traccar.handler.BasePositionHandler;
 import org.traccar.handler.ComputedAttributesHandler;
@@ -55,40 +56,55 @@ import org.traccar.handler.events.MediaEventHandler;
 import org.traccar.handler.events.MotionEventHandler;
 import org.traccar.handler.events.OverspeedEventHandler;
 import org.traccar.handler.network.AcknowledgementHandler;
+import org.traccar.helper.LatencyHistogram;
 import org.traccar.helper.PositionLogger;
+import org.traccar.model.Event;
 import org.traccar.model.Position;
 import org.traccar.session.cache.CacheManager;
 
+import java.util.ArrayDeque;
 import java.util.HashMap;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Queue;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 @Singleton
 @ChannelHandler.Sharable
 public class ProcessingHandler extends ChannelInboundHandlerAdapter implements BufferingManager.Callback {
 
+    private static final int QUEUE_STRIPES = Integer.highestOneBit(Runtime.getRuntime().availableProcessors() * 32);
+
+    private static final Queue<Position> PROCESSING = new ArrayDeque<>(0);
+
     private final CacheManager cacheManager;
     private final NotificationManager notificationManager;
     private final PositionLogger positionLogger;
     private final BufferingManager bufferingManager;
     private final List<BasePositionHandler> positionHandlers;
+    private final List<LatencyHistogram> positionHandlerLatencies;
     private final List<BaseEventHandler> eventHandlers;
     private final PostProcessHandler postProcessHandler;
 
-    private final Map<Long, Queue<Position>> queues = new HashMap<>();
+    /**
+     * Positions waiting for the device's current position to finish processing. A device without an entry is idle.
+     * A device with the shared PROCESSING marker has a position in progress and nothing waiting.
+     */
+    private final List<Map<Long, Queue<Position>>> queues = IntStream.range(0, QUEUE_STRIPES)
+            .mapToObj(i -> (Map<Long, Queue<Position>>) new HashMap<Long, Queue<Position>>())
+            .toList();
 
-    private synchronized Queue<Position> getQueue(long deviceId) {
-        return queues.computeIfAbsent(deviceId, k -> new LinkedList<>());
+    private Map<Long, Queue<Position>> getQueues(long deviceId) {
+        return queues.get(Long.hashCode(deviceId) & (QUEUE_STRIPES - 1));
     }
 
     @Inject
     public ProcessingHandler(
             Injector injector, Config config,
-            CacheManager cacheManager, NotificationManager notificationManager, PositionLogger positionLogger) {
+            CacheManager cacheManager, NotificationManager notificationManager, PositionLogger positionLogger,
+            MetricsManager metricsManager) {
         this.cacheManager = cacheManager;
         this.notificationManager = notificationManager;
         this.positionLogger = positionLogger;
@@ -116,6 +132,12 @@ public class ProcessingHandler extends ChannelInboundHandlerAdapter implements B
                 .filter(Objects::nonNull)
                 .toList();
 
+        positionHandlerLatencies = positionHandlers.stream()
+                .map(handler -> metricsManager.histogram(
+                        "traccar_handler_duration_seconds", "Time spent in position processing handlers",
+                        "handler", getHandlerName(handler)))
+                .toList();
+
         eventHandlers = Stream.of(
                 MediaEventHandler.class,
                 CommandResultEventHandler.class,
@@ -135,6 +157,11 @@ public class ProcessingHandler extends ChannelInboundHandlerAdapter implements B
         postProcessHandler = injector.getInstance(PostProcessHandler.class);
     }
 
+    private static String getHandlerName(Object handler) {
+        Class<?> clazz = handler.getClass();
+        return clazz.getName().substring(clazz.getPackageName().length() + 1).replace('$', '.');
+    }
+
     @Override
     public void channelRead(ChannelHandlerContext ctx, Object msg) throws Exception {
         if (msg instanceof Position position) {
@@ -147,46 +174,88 @@ public class ProcessingHandler extends ChannelInboundHandlerAdapter implements B
 
     @Override
     public void onReleased(ChannelHandlerContext context, Position position) {
-        Queue<Position> queue = getQueue(position.getDeviceId());
+        var deviceQueues = getQueues(position.getDeviceId());
         boolean queued;
-        synchronized (queue) {
-            queued = !queue.isEmpty();
-            queue.offer(position);
+        synchronized (deviceQueues) {
+            Queue<Position> queue = deviceQueues.get(position.getDeviceId());
+            queued = queue != null;
+            if (queue == null) {
+                deviceQueues.put(position.getDeviceId(), PROCESSING);
+            } else if (queue == PROCESSING) {
+                queue = new ArrayDeque<>();
+                queue.offer(position);
+                deviceQueues.put(position.getDeviceId(), queue);
+            } else {
+                queue.offer(position);
+            }
         }
         if (!queued) {
-            processPositionHandlers(context, position);
+            new PositionProcessor(context, position).run();
         }
     }
 
-    private void processPositionHandlers(ChannelHandlerContext ctx, Position position) {
-        var iterator = positionHandlers.iterator();
-        iterator.next().handlePosition(position, new BasePositionHandler.Callback() {
-            @Override
-            public void processed(boolean filtered) {
-                Runnable continuation = () -> {
-                    if (!filtered) {
-                        if (iterator.hasNext()) {
-                            iterator.next().handlePosition(position, this);
-                        } else {
-                            processEventHandlers(ctx, position);
-                        }
-                    } else {
-                        finishedProcessing(ctx, position, true);
-                    }
-                };
-                if (ctx.executor().inEventLoop()) {
-                    continuation.run();
-                } else {
-                    ctx.executor().execute(continuation);
+    /**
+     * Walks a single position through the handler chain. Handlers that complete synchronously are invoked in a loop
+     * on the same stack, and only asynchronous completions are dispatched back to the channel event loop.
+     */
+    private final class PositionProcessor implements BasePositionHandler.Callback, BaseEventHandler.Callback, Runnable {
+
+        private final ChannelHandlerContext ctx;
+        private final Position position;
+
+        private Thread thread;
+        private int index;
+        private long started;
+        private boolean calling;
+        private boolean completed;
+        private boolean filtered;
+
+        private PositionProcessor(ChannelHandlerContext ctx, Position position) {
+            this.ctx = ctx;
+            this.position = position;
+        }
+
+        @Override
+        public void run() {
+            thread = Thread.currentThread();
+            while (!filtered && index < positionHandlers.size()) {
+                completed = false;
+                calling = true;
+                started = System.nanoTime();
+                positionHandlers.get(index++).handlePosition(position, this);
+                calling = false;
+                if (!completed) {
+                    return;
                 }
             }
-        });
-    }
+            if (filtered) {
+                finishedProcessing(ctx, position, true);
+            } else {
+                for (BaseEventHandler eventHandler : eventHandlers) {
+                    eventHandler.analyzePosition(position, this);
+                }
+                finishedProcessing(ctx, position, false);
+            }
+        }
+
+        @Override
+        public void processed(boolean filtered) {
+            positionHandlerLatencies.get(index - 1).record(System.nanoTime() - started);
+            this.filtered = filtered;
+            if (calling && Thread.currentThread() == thread) {
+                completed = true;
+            } else if (ctx.executor().inEventLoop()) {
+                run();
+            } else {
+                ctx.executor().execute(this);
+            }
+        }
+
+        @Override
+        public void eventDetected(Event event) {
+            notificationManager.updateEvents(Map.of(event, position));
+        }
 
-    private void processEventHandlers(ChannelHandlerContext ctx, Position position) {
-        eventHandlers.forEach(handler -> handler.analyzePosition(
-                position, (event) -> notificationManager.updateEvents(Map.of(event, position))));
-        finishedProcessing(ctx, position, false);
     }
 
     private void finishedProcessing(ChannelHandlerContext ctx, Position position, boolean filtered) {
@@ -204,14 +273,17 @@ public class ProcessingHandler extends ChannelInboundHandlerAdapter implements B
     }
 
     private void processNextPosition(ChannelHandlerContext ctx, long deviceId) {
-        Queue<Position> queue = getQueue(deviceId);
+        var deviceQueues = getQueues(deviceId);
         Position nextPosition;
-        synchronized (queue) {
-            queue.poll(); // remove current position
-            nextPosition = queue.peek();
+        synchronized (deviceQueues) {
+            Queue<Position> queue = deviceQueues.get(deviceId);
+            nextPosition = queue != null ? queue.poll() : null;
+            if (nextPosition == null) {
+                deviceQueues.remove(deviceId);
+            }
         }
         if (nextPosition != null) {
-            ctx.executor().execute(() -> processPositionHandlers(ctx, nextPosition));
+            ctx.executor().execute(new PositionProcessor(ctx, nextPosition));
         }
     }
 
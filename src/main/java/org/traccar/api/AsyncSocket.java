@@ -22,12 +22,14 @@ import org.eclipse.jetty.websocket.api.Callback;
 import org.eclipse.jetty.websocket.api.Session;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.traccar.database.MetricsManager;
 import org.traccar.helper.model.PositionUtil;
 import org.traccar.model.Device;
 import org.traccar.model.Event;
 import org.traccar.model.LogRecord;
 import org.traccar.model.Position;
 import org.traccar.session.ConnectionManager;
+import org.traccar.session.cache.CacheManager;
 import org.traccar.storage.Storage;
 import org.traccar.storage.StorageException;
 
@@ -36,6 +38,7 @@ import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
 
 public class AsyncSocket implements Session.Listener.AutoDemanding, ConnectionManager.UpdateListener {
 
@@ -49,16 +52,25 @@ public class AsyncSocket implements Session.Listener.AutoDemanding, ConnectionMa
     private final ObjectMapper objectMapper;
     private final ConnectionManager connectionManager;
     private final Storage storage;
+    private final CacheManager cacheManager;
+    private final Map<String, LongAdder> updateCounters = new HashMap<>();
     private final long userId;
 
     private boolean includeLogs;
     private Session session;
 
-    public AsyncSocket(ObjectMapper objectMapper, ConnectionManager connectionManager, Storage storage, long userId) {
+    public AsyncSocket(
+            ObjectMapper objectMapper, ConnectionManager connectionManager, Storage storage,
+            CacheManager cacheManager, MetricsManager metricsManager, long userId) {
         this.objectMapper = objectMapper;
         this.connectionManager = connectionManager;
         this.storage = storage;
+        this.cacheManager = cacheManager;
         this.userId = userId;
+        for (String key : List.of(KEY_DEVICES, KEY_POSITIONS, KEY_EVENTS, KEY_LOGS)) {
+            updateCounters.put(key, metricsManager.counter(
+                    "traccar_websocket_updates_total", "Updates sent to WebSocket clients", "type", key));
+        }
     }
 
     @Override
@@ -66,7 +78,7 @@ public class AsyncSocket implements Session.Listener.AutoDemanding, ConnectionMa
         this.session = session;
         try {
             Map<String, Collection<?>> data = new HashMap<>();
-            data.put(KEY_POSITIONS, PositionUtil.getLatestPositions(storage, userId));
+            data.put(KEY_POSITIONS, PositionUtil.getLatestPositions(storage, cacheManager, userId));
             sendData(data);
             connectionManager.addListener(userId, this);
         } catch (StorageException e) {
@@ -131,6 +143,9 @@ public class AsyncSocket implements Session.Listener.AutoDemanding, ConnectionMa
         if (session != null && session.isOpen()) {
             try {
                 session.sendText(objectMapper.writeValueAsString(data), Callback.NOOP);
+                for (var entry : data.entrySet()) {
+                    updateCounters.get(entry.getKey()).add(entry.getValue().size());
+                }
             } catch (JsonProcessingException e) {
                 LOGGER.warn("Socket JSON formatting error", e);
             }
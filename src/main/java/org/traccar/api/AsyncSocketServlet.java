@@ -21,8 +21,10 @@ import org.eclipse.jetty.ee10.websocket.server.JettyWebSocketServletFactory;
 import org.traccar.api.security.LoginService;
 import org.traccar.config.Config;
 import org.traccar.config.Keys;
+import org.traccar.database.MetricsManager;
 import org.traccar.helper.SessionHelper;
 import org.traccar.session.ConnectionManager;
+import org.traccar.session.cache.CacheManager;
 import org.traccar.storage.Storage;
 
 import jakarta.inject.Inject;
@@ -42,17 +44,21 @@ public class AsyncSocketServlet extends JettyWebSocketServlet {
     private final ObjectMapper objectMapper;
     private final ConnectionManager connectionManager;
     private final Storage storage;
+    private final CacheManager cacheManager;
     private final LoginService loginService;
+    private final MetricsManager metricsManager;
 
     @Inject
     public AsyncSocketServlet(
             Config config, ObjectMapper objectMapper, ConnectionManager connectionManager, Storage storage,
-            LoginService loginService) {
+            CacheManager cacheManager, LoginService loginService, MetricsManager metricsManager) {
         this.config = config;
         this.objectMapper = objectMapper;
         this.connectionManager = connectionManager;
         this.storage = storage;
+        this.cacheManager = cacheManager;
         this.loginService = loginService;
+        this.metricsManager = metricsManager;
     }
 
     @Override
@@ -72,7 +78,8 @@ public class AsyncSocketServlet extends JettyWebSocketServlet {
                 userId = (Long) ((HttpSession) req.getSession()).getAttribute(SessionHelper.USER_ID_KEY);
             }
             if (userId != null) {
-                return new AsyncSocket(objectMapper, connectionManager, storage, userId);
+                return new AsyncSocket(
+                        objectMapper, connectionManager, storage, cacheManager, metricsManager, userId);
             }
             return null;
         });
@@ -1,5 +1,5 @@
 /*
- * Copyright 2021 - 2022 Anton Tananaev (anton@traccar.org)
+ * Copyright 2021 - 2025 Anton Tananaev (anton@traccar.org)
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -18,8 +18,10 @@ package org.traccar.api.resource;
 import org.traccar.api.BaseResource;
 import org.traccar.api.signature.TokenManager;
 import org.traccar.mail.MailManager;
+import org.traccar.model.ObjectOperation;
 import org.traccar.model.User;
 import org.traccar.notification.TextTemplateFormatter;
+import org.traccar.session.cache.CacheManager;
 import org.traccar.storage.StorageException;
 import org.traccar.storage.query.Columns;
 import org.traccar.storage.query.Condition;
@@ -52,6 +54,9 @@ public class PasswordResource extends BaseResource {
     @Inject
     private TextTemplateFormatter textTemplateFormatter;
 
+    @Inject
+    private CacheManager cacheManager;
+
     @Path("reset")
     @PermitAll
     @POST
@@ -72,8 +77,7 @@ public class PasswordResource extends BaseResource {
     @PermitAll
     @POST
     public Response update(
-            @FormParam("token") String token, @FormParam("password") String password)
-            throws StorageException, GeneralSecurityException, IOException {
+            @FormParam("token") String token, @FormParam("password") String password) throws Exception {
 
         long userId = tokenManager.verifyToken(token).getUserId();
         User user = storage.getObject(User.class, new Request(
@@ -83,6 +87,7 @@ public class PasswordResource extends BaseResource {
             storage.updateObject(user, new Request(
                     new Columns.Include("hashedPassword", "salt"),
                     new Condition.Equals("id", userId)));
+            cacheManager.invalidateObject(true, User.class, userId, ObjectOperation.UPDATE);
             return Response.ok().build();
         }
         return Response.status(Response.Status.NOT_FOUND).build();
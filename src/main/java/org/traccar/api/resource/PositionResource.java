@@ -24,6 +24,7 @@ import org.traccar.model.UserRestrictions;
 import org.traccar.reports.CsvExportProvider;
 import org.traccar.reports.GpxExportProvider;
 import org.traccar.reports.KmlExportProvider;
+import org.traccar.session.cache.CacheManager;
 import org.traccar.storage.StorageException;
 import org.traccar.storage.query.Columns;
 import org.traccar.storage.query.Condition;
@@ -63,6 +64,9 @@ public class PositionResource extends BaseResource {
     @Inject
     private GpxExportProvider gpxExportProvider;
 
+    @Inject
+    private CacheManager cacheManager;
+
     /**
      * 根据不同的查询条件获取位置信息的JSON数据流
      *
@@ -124,7 +128,7 @@ public class PositionResource extends BaseResource {
             }
             // 查询用户所有设备的最新位置
         } else {
-            return PositionUtil.getLatestPositions(storage, getUserId()).stream();
+            return PositionUtil.getLatestPositions(storage, cacheManager, getUserId()).stream();
         }
     }
 
@@ -0,0 +1,142 @@
+/*
+ * Copyright 2025 Anton Tananaev (anton@traccar.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.traccar.api.security;
+
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.traccar.broadcast.BroadcastInterface;
+import org.traccar.config.Config;
+import org.traccar.config.Keys;
+import org.traccar.model.BaseModel;
+import org.traccar.model.ObjectOperation;
+import org.traccar.model.RevokedToken;
+import org.traccar.model.User;
+import org.traccar.session.cache.CacheManager;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Short lived cache of resolved logins keyed by authorization header hash or session id. Entries are kept in
+ * independently locked LRU shards. Entries for a user are dropped when the user changes, and token entries are dropped
+ * when any token is revoked, including changes received through the broadcast service.
+ */
+@Singleton
+public class AuthenticationCache implements BroadcastInterface {
+
+    private static final int SHARDS = 16;
+
+    private static final String TOKEN_PREFIX = "token:";
+    private static final String SESSION_PREFIX = "session:";
+
+    private record Entry(LoginResult result, long expires) {
+    }
+
+    private static final class Shard extends LinkedHashMap<String, Entry> {
+
+        private final int capacity;
+
+        Shard(int capacity) {
+            super(16, 0.75f, true);
+            this.capacity = capacity;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+            return size() > capacity;
+        }
+    }
+
+    private final Shard[] shards = new Shard[SHARDS];
+    private final long ttl;
+
+    @Inject
+    public AuthenticationCache(Config config, CacheManager cacheManager) {
+        ttl = TimeUnit.SECONDS.toMillis(config.getLong(Keys.WEB_AUTH_CACHE_TTL));
+        int capacity = Math.max(config.getInteger(Keys.WEB_AUTH_CACHE_SIZE) / SHARDS, 1);
+        for (int i = 0; i < SHARDS; i++) {
+            shards[i] = new Shard(capacity);
+        }
+        cacheManager.registerListener(this);
+    }
+
+    public static String getTokenKey(String authorization) {
+        return TOKEN_PREFIX + DigestUtils.sha256Hex(authorization);
+    }
+
+    public static String getSessionKey(String sessionId) {
+        return SESSION_PREFIX + sessionId;
+    }
+
+    private Shard getShard(String key) {
+        int hash = key.hashCode() * 0x9E3779B9;
+        return shards[(hash >>> 28) & (SHARDS - 1)];
+    }
+
+    public LoginResult get(String key) throws SecurityException {
+        if (ttl <= 0) {
+            return null;
+        }
+        long now = System.currentTimeMillis();
+        Shard shard = getShard(key);
+        LoginResult result = null;
+        synchronized (shard) {
+            Entry entry = shard.get(key);
+            if (entry != null) {
+                result = entry.result();
+                if (entry.expires() < now || result.getExpiration() != null && result.getExpiration().getTime() < now) {
+                    shard.remove(key);
+                    result = null;
+                }
+            }
+        }
+        if (result != null) {
+            result.getUser().checkDisabled();
+        }
+        return result;
+    }
+
+    public void put(String key, LoginResult result) {
+        if (ttl > 0 && result != null && result.getUser() != null) {
+            Entry entry = new Entry(result, System.currentTimeMillis() + ttl);
+            Shard shard = getShard(key);
+            synchronized (shard) {
+                shard.put(key, entry);
+            }
+        }
+    }
+
+    @Override
+    public <T extends BaseModel> void invalidateObject(
+            boolean local, Class<T> clazz, long id, ObjectOperation operation) {
+        if (clazz.equals(User.class)) {
+            for (Shard shard : shards) {
+                synchronized (shard) {
+                    shard.values().removeIf(entry -> entry.result().getUser().getId() == id);
+                }
+            }
+        } else if (clazz.equals(RevokedToken.class)) {
+            for (Shard shard : shards) {
+                synchronized (shard) {
+                    shard.keySet().removeIf(key -> key.startsWith(TOKEN_PREFIX));
+                }
+            }
+        }
+    }
+
+}
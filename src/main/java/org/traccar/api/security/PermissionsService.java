@@ -1,5 +1,5 @@
 /*
- * Copyright 2022 - 2023 Anton Tananaev (anton@traccar.org)
+ * Copyright 2022 - 2025 Anton Tananaev (anton@traccar.org)
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -28,6 +28,7 @@ import org.traccar.model.Schedulable;
 import org.traccar.model.Server;
 import org.traccar.model.User;
 import org.traccar.model.UserRestrictions;
+import org.traccar.session.cache.PermissionCache;
 import org.traccar.storage.Storage;
 import org.traccar.storage.StorageException;
 import org.traccar.storage.query.Columns;
@@ -41,13 +42,15 @@ import java.util.Objects;
 public class PermissionsService {
 
     private final Storage storage;
+    private final PermissionCache permissionCache;
 
     private Server server;
     private User user;
 
     @Inject
-    public PermissionsService(Storage storage) {
+    public PermissionsService(Storage storage, PermissionCache permissionCache) {
         this.storage = storage;
+        this.permissionCache = permissionCache;
     }
 
     public Server getServer() throws StorageException {
@@ -211,13 +214,7 @@ public class PermissionsService {
     public <T extends BaseModel> void checkPermission(
             Class<T> clazz, long userId, long objectId) throws StorageException, SecurityException {
         if (!getUser(userId).getAdministrator() && !(clazz.equals(User.class) && userId == objectId)) {
-            var object = storage.getObject(clazz, new Request(
-                    new Columns.Include("id"),
-                    new Condition.And(
-                            new Condition.Equals("id", objectId),
-                            new Condition.Permission(
-                                    User.class, userId, clazz.equals(User.class) ? ManagedUser.class : clazz))));
-            if (object == null) {
+            if (!permissionCache.hasPermission(clazz, userId, objectId)) {
                 throw new SecurityException(clazz.getSimpleName() + " access denied");
             }
         }
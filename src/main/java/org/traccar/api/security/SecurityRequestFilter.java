@@ -52,6 +52,9 @@ public class SecurityRequestFilter implements ContainerRequestFilter {
     @Inject
     private LoginService loginService;
 
+    @Inject
+    private AuthenticationCache authenticationCache;
+
     @Inject
     private StatisticsManager statisticsManager;
 
@@ -73,8 +76,13 @@ public class SecurityRequestFilter implements ContainerRequestFilter {
             if (authHeader != null) {
 
                 try {
-                    String[] auth = authHeader.split(" ");
-                    LoginResult loginResult = loginService.login(auth[0], auth[1]);
+                    String key = AuthenticationCache.getTokenKey(authHeader);
+                    LoginResult loginResult = authenticationCache.get(key);
+                    if (loginResult == null) {
+                        String[] auth = authHeader.split(" ");
+                        loginResult = loginService.login(auth[0], auth[1]);
+                        authenticationCache.put(key, loginResult);
+                    }
                     if (loginResult != null) {
                         User user = loginResult.getUser();
                         statisticsManager.registerRequest(user.getId());
@@ -94,7 +102,15 @@ public class SecurityRequestFilter implements ContainerRequestFilter {
                     if (expiration != null && expiration.before(new Date())) {
                         session.invalidate();
                     } else if (userId != null) {
-                        User user = injector.getInstance(PermissionsService.class).getUser(userId);
+                        String key = AuthenticationCache.getSessionKey(session.getId());
+                        LoginResult loginResult = authenticationCache.get(key);
+                        User user;
+                        if (loginResult != null && loginResult.getUser().getId() == userId) {
+                            user = loginResult.getUser();
+                        } else {
+                            user = injector.getInstance(PermissionsService.class).getUser(userId);
+                            authenticationCache.put(key, new LoginResult(user));
+                        }
                         if (user != null) {
                             user.checkDisabled();
                             statisticsManager.registerRequest(userId);
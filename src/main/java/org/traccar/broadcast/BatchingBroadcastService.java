@@ -0,0 +1,236 @@
+/*
+ * Copyright 2025 Anton Tananaev (anton@traccar.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.traccar.broadcast;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.traccar.config.Config;
+import org.traccar.config.Keys;
+import org.traccar.model.Device;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Broadcast service that queues outgoing messages and sends them from a dedicated publisher thread. Messages queued
+ * within the batch delay are combined into a single binary payload.
+ * <p>
+ * Each node periodically advertises devices that have connected users. Position and device updates are only sent if
+ * some other node is interested in the device. Device online status updates are always sent because they close
+ * sessions left on other nodes.
+ * <p>
+ * Only positions and events are dropped when the queue is full. Cache invalidations, commands and device updates are
+ * always queued because other nodes would otherwise keep serving stale permissions and sessions.
+ */
+public abstract class BatchingBroadcastService extends BaseBroadcastService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(BatchingBroadcastService.class);
+
+    private static final int QUEUE_CAPACITY = 100000;
+    private static final int MAX_INTEREST_SIZE = 5000;
+    private static final long PUBLISHER_TICK = TimeUnit.SECONDS.toMillis(1);
+    private static final long INTEREST_INTERVAL = TimeUnit.SECONDS.toMillis(30);
+    private static final long INTEREST_TIMEOUT = 3 * INTEREST_INTERVAL;
+
+    private final BroadcastCodec codec;
+    private final long batchDelay;
+    private final int maxPayloadSize;
+
+    private final String id = UUID.randomUUID().toString();
+
+    private final BlockingQueue<BroadcastMessage> queue = new LinkedBlockingQueue<>();
+    private final AtomicInteger droppableCount = new AtomicInteger();
+
+    private record RemoteInterest(BroadcastCodec.Interest interest, long expiration) {
+    }
+
+    private final Map<String, RemoteInterest> remoteInterests = new ConcurrentHashMap<>();
+
+    private volatile Set<Long> localInterest = Set.of();
+    private final AtomicBoolean interestChanged = new AtomicBoolean(true);
+    private long nextAdvertisement;
+
+    private Thread publisherThread;
+
+    protected BatchingBroadcastService(Config config, ObjectMapper objectMapper, int maxPayloadSize) {
+        this.codec = new BroadcastCodec(objectMapper);
+        this.batchDelay = config.getLong(Keys.BROADCAST_BATCH_DELAY);
+        this.maxPayloadSize = maxPayloadSize;
+    }
+
+    @Override
+    public boolean singleInstance() {
+        return false;
+    }
+
+    @Override
+    public void updateInterest(Set<Long> deviceIds) {
+        localInterest = deviceIds;
+        interestChanged.set(true);
+    }
+
+    @Override
+    protected void sendMessage(BroadcastMessage message) {
+        if (!isRequired(message)) {
+            return;
+        }
+        if (isDroppable(message) && droppableCount.incrementAndGet() > QUEUE_CAPACITY) {
+            droppableCount.decrementAndGet();
+            LOGGER.warn("Broadcast queue is full, message dropped");
+            return;
+        }
+        queue.add(message);
+    }
+
+    private static boolean isDroppable(BroadcastMessage message) {
+        return message.getPosition() != null || message.getEvent() != null;
+    }
+
+    private void releaseCapacity(List<BroadcastMessage> messages) {
+        int count = 0;
+        for (BroadcastMessage message : messages) {
+            if (isDroppable(message)) {
+                count += 1;
+            }
+        }
+        droppableCount.addAndGet(-count);
+    }
+
+    boolean isRequired(BroadcastMessage message) {
+        long deviceId;
+        if (message.getPosition() != null) {
+            deviceId = message.getPosition().getDeviceId();
+        } else if (message.getDevice() != null && !Device.STATUS_ONLINE.equals(message.getDevice().getStatus())) {
+            deviceId = message.getDevice().getId();
+        } else {
+            return true;
+        }
+        long currentTime = System.currentTimeMillis();
+        for (RemoteInterest remoteInterest : remoteInterests.values()) {
+            BroadcastCodec.Interest interest = remoteInterest.interest();
+            if (remoteInterest.expiration() > currentTime
+                    && (interest.all() || interest.deviceIds().contains(deviceId))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    protected abstract void publish(byte[] payload) throws IOException;
+
+    protected void handlePayload(byte[] data, int offset, int length) {
+        BroadcastCodec.Batch batch;
+        try {
+            batch = codec.decode(data, offset, length);
+        } catch (IOException e) {
+            LOGGER.warn("Broadcast decoding failed", e);
+            return;
+        }
+        if (id.equals(batch.sender())) {
+            return;
+        }
+        if (batch.interest() != null) {
+            long expiration = System.currentTimeMillis() + INTEREST_TIMEOUT;
+            if (remoteInterests.put(batch.sender(), new RemoteInterest(batch.interest(), expiration)) == null) {
+                interestChanged.set(true);
+            }
+        }
+        for (BroadcastMessage message : batch.messages()) {
+            try {
+                handleMessage(message);
+            } catch (Exception e) {
+                LOGGER.warn("Broadcast handleMessage failed", e);
+            }
+        }
+    }
+
+    protected void startPublisher() {
+        publisherThread = new Thread(this::runPublisher, "broadcast-publisher");
+        publisherThread.setDaemon(true);
+        publisherThread.start();
+    }
+
+    protected void stopPublisher() throws InterruptedException {
+        if (publisherThread != null) {
+            publisherThread.interrupt();
+            publisherThread.join();
+            publisherThread = null;
+        }
+    }
+
+    private void runPublisher() {
+        List<BroadcastMessage> messages = new ArrayList<>();
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                flush(messages);
+                messages.clear();
+                BroadcastMessage message = queue.poll(PUBLISHER_TICK, TimeUnit.MILLISECONDS);
+                if (message != null) {
+                    messages.add(message);
+                    if (batchDelay > 0) {
+                        Thread.sleep(batchDelay);
+                    }
+                    queue.drainTo(messages);
+                    releaseCapacity(messages);
+                }
+            }
+        } catch (InterruptedException e) {
+            queue.drainTo(messages);
+            releaseCapacity(messages);
+            flush(messages);
+        }
+    }
+
+    private BroadcastCodec.Interest takeInterest() {
+        long currentTime = System.currentTimeMillis();
+        if (interestChanged.getAndSet(false) || currentTime >= nextAdvertisement) {
+            nextAdvertisement = currentTime + INTEREST_INTERVAL;
+            remoteInterests.values().removeIf(remoteInterest -> remoteInterest.expiration() <= currentTime);
+            Set<Long> deviceIds = localInterest;
+            if (deviceIds.size() > MAX_INTEREST_SIZE) {
+                return new BroadcastCodec.Interest(true, Set.of());
+            }
+            return new BroadcastCodec.Interest(false, deviceIds);
+        }
+        return null;
+    }
+
+    private void flush(List<BroadcastMessage> messages) {
+        BroadcastCodec.Interest interest = takeInterest();
+        if (messages.isEmpty() && interest == null) {
+            return;
+        }
+        try {
+            for (byte[] payload : codec.encode(id, interest, messages, maxPayloadSize)) {
+                publish(payload);
+            }
+        } catch (IOException | RuntimeException e) {
+            LOGGER.warn("Broadcast failed", e);
+        }
+    }
+
+}
@@ -0,0 +1,289 @@
+/*
+ * Copyright 2025 Anton Tananaev (anton@traccar.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.traccar.broadcast;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.protobuf.ByteString;
+import com.google.protobuf.CodedOutputStream;
+import com.google.protobuf.InvalidProtocolBufferException;
+import org.traccar.model.Device;
+import org.traccar.model.Event;
+import org.traccar.model.Network;
+import org.traccar.model.ObjectOperation;
+import org.traccar.model.Position;
+import org.traccar.protobuf.broadcast.BroadcastMessages;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Binary encoding of broadcast messages. Positions are encoded field by field, devices and events are embedded as
+ * JSON because they are rare and their structure changes more often.
+ */
+public class BroadcastCodec {
+
+    private static final int SENDER_FIELD = BroadcastMessages.Batch.SENDER_FIELD_NUMBER;
+    private static final int MESSAGES_FIELD = BroadcastMessages.Batch.MESSAGES_FIELD_NUMBER;
+    private static final int INTEREST_FIELD = BroadcastMessages.Batch.INTEREST_FIELD_NUMBER;
+
+    private final ObjectMapper objectMapper;
+
+    public BroadcastCodec(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    public record Interest(boolean all, Set<Long> deviceIds) {
+    }
+
+    public record Batch(String sender, Interest interest, List<BroadcastMessage> messages) {
+    }
+
+    /**
+     * Encode messages into one or more batches, each not exceeding maximum payload size unless a single message is
+     * already larger than the limit. Interest, if provided, is added to the first batch.
+     */
+    public List<byte[]> encode(
+            String sender, Interest interest, List<BroadcastMessage> messages, int maxSize) throws IOException {
+        List<byte[]> payloads = new ArrayList<>();
+        int headerSize = CodedOutputStream.computeStringSize(SENDER_FIELD, sender);
+        BroadcastMessages.Batch.Builder batch = BroadcastMessages.Batch.newBuilder().setSender(sender);
+        int batchSize = headerSize;
+        if (interest != null) {
+            BroadcastMessages.Interest encoded = BroadcastMessages.Interest.newBuilder()
+                    .setAll(interest.all())
+                    .addAllDeviceIds(interest.deviceIds())
+                    .build();
+            batch.setInterest(encoded);
+            batchSize += CodedOutputStream.computeMessageSize(INTEREST_FIELD, encoded);
+        }
+        for (BroadcastMessage message : messages) {
+            BroadcastMessages.Message encoded = encodeMessage(message);
+            int messageSize = CodedOutputStream.computeMessageSize(MESSAGES_FIELD, encoded);
+            if ((batch.getMessagesCount() > 0 || batch.hasInterest()) && batchSize + messageSize > maxSize) {
+                payloads.add(batch.build().toByteArray());
+                batch = BroadcastMessages.Batch.newBuilder().setSender(sender);
+                batchSize = headerSize;
+            }
+            batch.addMessages(encoded);
+            batchSize += messageSize;
+        }
+        if (batch.getMessagesCount() > 0 || batch.hasInterest()) {
+            payloads.add(batch.build().toByteArray());
+        }
+        return payloads;
+    }
+
+    public Batch decode(byte[] data, int offset, int length) throws IOException {
+        BroadcastMessages.Batch batch = BroadcastMessages.Batch.parser().parseFrom(data, offset, length);
+        List<BroadcastMessage> messages = new ArrayList<>(batch.getMessagesCount());
+        for (BroadcastMessages.Message message : batch.getMessagesList()) {
+            BroadcastMessage decoded = decodeMessage(message);
+            if (decoded != null) {
+                messages.add(decoded);
+            }
+        }
+        Interest interest = null;
+        if (batch.hasInterest()) {
+            interest = new Interest(batch.getInterest().getAll(), Set.copyOf(batch.getInterest().getDeviceIdsList()));
+        }
+        return new Batch(batch.getSender(), interest, messages);
+    }
+
+    private BroadcastMessages.Message encodeMessage(BroadcastMessage message) throws IOException {
+        BroadcastMessages.Message.Builder builder = BroadcastMessages.Message.newBuilder();
+        if (message.getDevice() != null) {
+            builder.setDevice(ByteString.copyFrom(objectMapper.writeValueAsBytes(message.getDevice())));
+        } else if (message.getPosition() != null) {
+            builder.setPosition(encodePosition(message.getPosition()));
+        } else if (message.getUserId() != null && message.getEvent() != null) {
+            builder.setEvent(BroadcastMessages.Event.newBuilder()
+                    .setUserId(message.getUserId())
+                    .setEvent(ByteString.copyFrom(objectMapper.writeValueAsBytes(message.getEvent()))));
+        } else if (message.getCommandDeviceId() != null) {
+            builder.setCommandDeviceId(message.getCommandDeviceId());
+        } else if (message.getInvalidateObject() != null) {
+            var invalidateObject = message.getInvalidateObject();
+            builder.setInvalidateObject(BroadcastMessages.InvalidateObject.newBuilder()
+                    .setClazz(invalidateObject.getClazz())
+                    .setId(invalidateObject.getId())
+                    .setOperation(invalidateObject.getOperation().name()));
+        } else if (message.getInvalidatePermission() != null) {
+            var invalidatePermission = message.getInvalidatePermission();
+            builder.setInvalidatePermission(BroadcastMessages.InvalidatePermission.newBuilder()
+                    .setClazz1(invalidatePermission.getClazz1())
+                    .setId1(invalidatePermission.getId1())
+                    .setClazz2(invalidatePermission.getClazz2())
+                    .setId2(invalidatePermission.getId2())
+                    .setLink(invalidatePermission.getLink()));
+        }
+        return builder.build();
+    }
+
+    private BroadcastMessage decodeMessage(BroadcastMessages.Message message) throws IOException {
+        BroadcastMessage decoded = new BroadcastMessage();
+        switch (message.getContentCase()) {
+            case DEVICE -> decoded.setDevice(
+                    objectMapper.readValue(message.getDevice().toByteArray(), Device.class));
+            case POSITION -> decoded.setPosition(decodePosition(message.getPosition()));
+            case EVENT -> {
+                decoded.setUserId(message.getEvent().getUserId());
+                decoded.setEvent(objectMapper.readValue(message.getEvent().getEvent().toByteArray(), Event.class));
+            }
+            case COMMAND_DEVICE_ID -> decoded.setCommandDeviceId(message.getCommandDeviceId());
+            case INVALIDATE_OBJECT -> {
+                var source = message.getInvalidateObject();
+                var invalidateObject = new BroadcastMessage.InvalidateObject();
+                invalidateObject.setClazz(source.getClazz());
+                invalidateObject.setId(source.getId());
+                invalidateObject.setOperation(ObjectOperation.valueOf(source.getOperation()));
+                decoded.setInvalidateObject(invalidateObject);
+            }
+            case INVALIDATE_PERMISSION -> {
+                var source = message.getInvalidatePermission();
+                var invalidatePermission = new BroadcastMessage.InvalidatePermission();
+                invalidatePermission.setClazz1(source.getClazz1());
+                invalidatePermission.setId1(source.getId1());
+                invalidatePermission.setClazz2(source.getClazz2());
+                invalidatePermission.setId2(source.getId2());
+                invalidatePermission.setLink(source.getLink());
+                decoded.setInvalidatePermission(invalidatePermission);
+            }
+            default -> {
+                return null;
+            }
+        }
+        return decoded;
+    }
+
+    private BroadcastMessages.Position encodePosition(Position position) throws IOException {
+        BroadcastMessages.Position.Builder builder = BroadcastMessages.Position.newBuilder()
+                .setId(position.getId())
+                .setDeviceId(position.getDeviceId())
+                .setValid(position.getValid())
+                .setLatitude(position.getLatitude())
+                .setLongitude(position.getLongitude())
+                .setLatitudeWgs84(position.getLatitudeWgs84())
+                .setLongitudeWgs84(position.getLongitudeWgs84())
+                .setAltitude(position.getAltitude())
+                .setSpeed(position.getSpeed())
+                .setCourse(position.getCourse())
+                .setAccuracy(position.getAccuracy());
+        if (position.getProtocol() != null) {
+            builder.setProtocol(position.getProtocol());
+        }
+        if (position.getServerTime() != null) {
+            builder.setServerTime(position.getServerTime().getTime());
+        }
+        if (position.getDeviceTime() != null) {
+            builder.setDeviceTime(position.getDeviceTime().getTime());
+        }
+        if (position.getFixTime() != null) {
+            builder.setFixTime(position.getFixTime().getTime());
+        }
+        if (position.getAddress() != null) {
+            builder.setAddress(position.getAddress());
+        }
+        if (position.getNetwork() != null) {
+            builder.setNetwork(ByteString.copyFrom(objectMapper.writeValueAsBytes(position.getNetwork())));
+        }
+        if (position.getGeofenceIds() != null) {
+            builder.setGeofenceIds(BroadcastMessages.GeofenceIds.newBuilder().addAllValues(position.getGeofenceIds()));
+        }
+        for (Map.Entry<String, Object> entry : position.getAttributes().entrySet()) {
+            if (entry.getValue() != null) {
+                builder.putAttributes(entry.getKey(), encodeValue(entry.getValue()));
+            }
+        }
+        return builder.build();
+    }
+
+    private Position decodePosition(BroadcastMessages.Position source) throws IOException {
+        Position position = new Position();
+        position.setId(source.getId());
+        position.setDeviceId(source.getDeviceId());
+        if (source.hasProtocol()) {
+            position.setProtocol(source.getProtocol());
+        }
+        position.setServerTime(source.hasServerTime() ? new Date(source.getServerTime()) : null);
+        if (source.hasDeviceTime()) {
+            position.setDeviceTime(new Date(source.getDeviceTime()));
+        }
+        if (source.hasFixTime()) {
+            position.setFixTime(new Date(source.getFixTime()));
+        }
+        position.setValid(source.getValid());
+        position.setLatitudeWgs84(source.getLatitudeWgs84());
+        position.setLongitudeWgs84(source.getLongitudeWgs84());
+        position.setLatitude(source.getLatitude());
+        position.setLongitude(source.getLongitude());
+        position.setAltitude(source.getAltitude());
+        position.setSpeed(source.getSpeed());
+        position.setCourse(source.getCourse());
+        if (source.hasAddress()) {
+            position.setAddress(source.getAddress());
+        }
+        position.setAccuracy(source.getAccuracy());
+        if (!source.getNetwork().isEmpty()) {
+            position.setNetwork(objectMapper.readValue(source.getNetwork().toByteArray(), Network.class));
+        }
+        if (source.hasGeofenceIds()) {
+            position.setGeofenceIds(source.getGeofenceIds().getValuesList());
+        }
+        for (Map.Entry<String, BroadcastMessages.Value> entry : source.getAttributesMap().entrySet()) {
+            position.getAttributes().put(entry.getKey(), decodeValue(entry.getValue()));
+        }
+        return position;
+    }
+
+    private BroadcastMessages.Value encodeValue(Object value) throws IOException {
+        BroadcastMessages.Value.Builder builder = BroadcastMessages.Value.newBuilder();
+        if (value instanceof String stringValue) {
+            builder.setStringValue(stringValue);
+        } else if (value instanceof Boolean booleanValue) {
+            builder.setBooleanValue(booleanValue);
+        } else if (value instanceof Double || value instanceof Float) {
+            builder.setDoubleValue(((Number) value).doubleValue());
+        } else if (value instanceof Long || value instanceof Integer
+                || value instanceof Short || value instanceof Byte) {
+            builder.setLongValue(((Number) value).longValue());
+        } else {
+            builder.setJsonValue(ByteString.copyFrom(objectMapper.writeValueAsBytes(value)));
+        }
+        return builder.build();
+    }
+
+    private Object decodeValue(BroadcastMessages.Value value) throws IOException {
+        return switch (value.getKindCase()) {
+            case STRING_VALUE -> value.getStringValue();
+            case BOOLEAN_VALUE -> value.getBooleanValue();
+            case DOUBLE_VALUE -> value.getDoubleValue();
+            case LONG_VALUE -> {
+                long longValue = value.getLongValue();
+                if (longValue >= Integer.MIN_VALUE && longValue <= Integer.MAX_VALUE) {
+                    yield (int) longValue;
+                }
+                yield longValue;
+            }
+            case JSON_VALUE -> objectMapper.readValue(value.getJsonValue().toByteArray(), Object.class);
+            default -> throw new InvalidProtocolBufferException("Missing attribute value");
+        };
+    }
+
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2022 - 2024 Anton Tananaev (anton@traccar.org)
+ * Copyright 2022 - 2025 Anton Tananaev (anton@traccar.org)
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -28,28 +28,27 @@ import java.net.InetAddress;
 import java.net.InetSocketAddress;
 import java.net.MulticastSocket;
 import java.net.NetworkInterface;
-import java.nio.charset.StandardCharsets;
 import java.util.concurrent.ExecutorService;
 
-public class MulticastBroadcastService extends BaseBroadcastService {
+public class MulticastBroadcastService extends BatchingBroadcastService {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(MulticastBroadcastService.class);
 
-    private final ObjectMapper objectMapper;
+    private static final int MAX_PAYLOAD_SIZE = 60000;
 
     private final NetworkInterface networkInterface;
     private final int port;
     private final InetSocketAddress group;
 
-    private DatagramSocket publisherSocket;
+    private volatile DatagramSocket publisherSocket;
 
     private final ExecutorService executorService;
-    private final byte[] receiverBuffer = new byte[4096];
+    private final byte[] receiverBuffer = new byte[65535];
 
     public MulticastBroadcastService(
             Config config, ExecutorService executorService, ObjectMapper objectMapper) throws IOException {
+        super(config, objectMapper, MAX_PAYLOAD_SIZE);
         this.executorService = executorService;
-        this.objectMapper = objectMapper;
         port = config.getInteger(Keys.BROADCAST_PORT);
         String interfaceName = config.getString(Keys.BROADCAST_INTERFACE);
         if (interfaceName.indexOf('.') >= 0 || interfaceName.indexOf(':') >= 0) {
@@ -62,28 +61,24 @@ public class MulticastBroadcastService extends BaseBroadcastService {
     }
 
     @Override
-    public boolean singleInstance() {
-        return false;
-    }
-
-    @Override
-    protected void sendMessage(BroadcastMessage message) {
-        try {
-            byte[] buffer = objectMapper.writeValueAsString(message).getBytes(StandardCharsets.UTF_8);
-            DatagramPacket packet = new DatagramPacket(buffer, buffer.length, group);
-            publisherSocket.send(packet);
-        } catch (IOException e) {
-            LOGGER.warn("Broadcast failed", e);
+    protected void publish(byte[] payload) throws IOException {
+        DatagramSocket socket = publisherSocket;
+        if (socket != null) {
+            socket.send(new DatagramPacket(payload, payload.length, group));
+        } else {
+            LOGGER.warn("Broadcast socket is not ready, batch dropped");
         }
     }
 
     @Override
     public void start() throws IOException {
         executorService.submit(receiver);
+        startPublisher();
     }
 
     @Override
-    public void stop() {
+    public void stop() throws InterruptedException {
+        stopPublisher();
     }
 
     private final Runnable receiver = new Runnable() {
@@ -96,10 +91,7 @@ public class MulticastBroadcastService extends BaseBroadcastService {
                 while (!executorService.isShutdown()) {
                     DatagramPacket packet = new DatagramPacket(receiverBuffer, receiverBuffer.length);
                     socket.receive(packet);
-                    if (networkInterface.inetAddresses().noneMatch(a -> a.equals(packet.getAddress()))) {
-                        String data = new String(packet.getData(), 0, packet.getLength(), StandardCharsets.UTF_8);
-                        handleMessage(objectMapper.readValue(data, BroadcastMessage.class));
-                    }
+                    handlePayload(packet.getData(), packet.getOffset(), packet.getLength());
                 }
                 publisherSocket = null;
                 socket.leaveGroup(group, networkInterface);
@@ -1,5 +1,5 @@
 /*
- * Copyright 2023 - 2024 Anton Tananaev (anton@traccar.org)
+ * Copyright 2023 - 2025 Anton Tananaev (anton@traccar.org)
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -22,33 +22,32 @@ import org.traccar.config.Config;
 import org.traccar.config.Keys;
 
 import java.io.IOException;
-import java.util.UUID;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
 import java.util.concurrent.ExecutorService;
 
+import redis.clients.jedis.BinaryJedisPubSub;
 import redis.clients.jedis.Jedis;
-import redis.clients.jedis.JedisPubSub;
 import redis.clients.jedis.exceptions.JedisConnectionException;
 import redis.clients.jedis.exceptions.JedisException;
 
-public class RedisBroadcastService extends BaseBroadcastService {
+public class RedisBroadcastService extends BatchingBroadcastService {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(RedisBroadcastService.class);
 
-    private final ObjectMapper objectMapper;
+    private static final int MAX_PAYLOAD_SIZE = 1024 * 1024;
 
     private final ExecutorService executorService;
 
-    private final String channel = "traccar";
+    private final byte[] channel = "traccar".getBytes(StandardCharsets.UTF_8);
 
     private Jedis subscriber;
     private Jedis publisher;
 
-    private final String id = UUID.randomUUID().toString();
-
     public RedisBroadcastService(
             Config config, ExecutorService executorService, ObjectMapper objectMapper) throws IOException {
+        super(config, objectMapper, MAX_PAYLOAD_SIZE);
         this.executorService = executorService;
-        this.objectMapper = objectMapper;
         String url = config.getString(Keys.BROADCAST_ADDRESS);
 
         try {
@@ -61,27 +60,19 @@ public class RedisBroadcastService extends BaseBroadcastService {
     }
 
     @Override
-    public boolean singleInstance() {
-        return false;
-    }
-
-    @Override
-    protected void sendMessage(BroadcastMessage message) {
-        try {
-            String payload = id  + ":" + objectMapper.writeValueAsString(message);
-            publisher.publish(channel, payload);
-        } catch (IOException | JedisConnectionException e) {
-            LOGGER.warn("Broadcast failed", e);
-        }
+    protected void publish(byte[] payload) {
+        publisher.publish(channel, payload);
     }
 
     @Override
     public void start() throws IOException {
         executorService.submit(receiver);
+        startPublisher();
     }
 
     @Override
-    public void stop() {
+    public void stop() throws InterruptedException {
+        stopPublisher();
         try {
             if (subscriber != null) {
                 subscriber.close();
@@ -104,16 +95,11 @@ public class RedisBroadcastService extends BaseBroadcastService {
         @Override
         public void run() {
             try {
-                subscriber.subscribe(new JedisPubSub() {
+                subscriber.subscribe(new BinaryJedisPubSub() {
                     @Override
-                    public void onMessage(String messageChannel, String message) {
-                        try {
-                            String[] parts = message.split(":", 2);
-                            if (messageChannel.equals(channel) && parts.length == 2 && !id.equals(parts[0])) {
-                                handleMessage(objectMapper.readValue(parts[1], BroadcastMessage.class));
-                            }
-                        } catch (Exception e) {
-                            LOGGER.warn("Broadcast handleMessage failed", e);
+                    public void onMessage(byte[] messageChannel, byte[] message) {
+                        if (Arrays.equals(messageChannel, channel)) {
+                            handlePayload(message, 0, message.length);
                         }
                     }
                 }, channel);
@@ -564,6 +564,34 @@ public final class Keys {
             "database.saveEmpty",
             List.of(KeyType.CONFIG));
 
+    /**
+     * Maximum number of positions written to the database in a single batch. Positions from all connections are
+     * collected and inserted together in one transaction. By default, batching is disabled and every position is
+     * inserted individually.
+     */
+    public static final ConfigKey<Integer> DATABASE_BATCH_SIZE = new IntegerConfigKey(
+            "database.batchSize",
+            List.of(KeyType.CONFIG));
+
+    /**
+     * Maximum time in milliseconds a position waits for a batch to fill up before it is written to the database. Only
+     * used when 'database.batchSize' is set. Default value is 100 milliseconds.
+     */
+    public static final ConfigKey<Long> DATABASE_BATCH_DELAY = new LongConfigKey(
+            "database.batchDelay",
+            List.of(KeyType.CONFIG),
+            100L);
+
+    /**
+     * Interval in milliseconds for writing latest device data to the database. If set, device position references and
+     * last update times are kept in memory and the changed ones are written in a single batch once per interval, which
+     * significantly reduces the number of device table updates. Status changes and live updates are still sent
+     * immediately. By default, every update is written to the database right away.
+     */
+    public static final ConfigKey<Long> DATABASE_DEVICE_UPDATE_INTERVAL = new LongConfigKey(
+            "database.deviceUpdateInterval",
+            List.of(KeyType.CONFIG));
+
     /**
      * Device limit for self registered users. Default value is -1, which indicates no limit.
      */
@@ -829,6 +857,32 @@ public final class Keys {
             "web.sessionTimeout",
             List.of(KeyType.CONFIG));
 
+    /**
+     * Lifetime in seconds of cached API authentication results for tokens, basic credentials and sessions. Changes to
+     * users and revoked tokens clear the cache immediately. Zero disables caching. Default value is 30 seconds.
+     */
+    public static final ConfigKey<Long> WEB_AUTH_CACHE_TTL = new LongConfigKey(
+            "web.authCache.ttl",
+            List.of(KeyType.CONFIG),
+            30L);
+
+    /**
+     * Maximum number of cached API authentication results. Default value is 10000.
+     */
+    public static final ConfigKey<Integer> WEB_AUTH_CACHE_SIZE = new IntegerConfigKey(
+            "web.authCache.size",
+            List.of(KeyType.CONFIG),
+            10000);
+
+    /**
+     * Maximum lifetime in seconds of cached user permissions. Permission changes clear the cache immediately, so this
+     * only limits how long a missed invalidation can last. Default value is 300 seconds.
+     */
+    public static final ConfigKey<Long> WEB_PERMISSION_CACHE_TTL = new LongConfigKey(
+            "web.permissionCache.ttl",
+            List.of(KeyType.CONFIG),
+            300L);
+
     /**
      * Enable database access console via '/console' URL. Use only for debugging. Never use in production.
      */
@@ -897,7 +951,8 @@ public final class Keys {
             List.of(KeyType.CONFIG));
 
     /**
-     * Position forwarding format. Available options are "url", "json" and "kafka". Default is "url".
+     * Position forwarding format. Available options are "url", "json", "batch" and "kafka". Default is "url". The
+     * "batch" type posts positions to 'forward.url' in batches.
      */
     public static final ConfigKey<String> FORWARD_TYPE = new StringConfigKey(
             "forward.type",
@@ -920,6 +975,50 @@ public final class Keys {
             List.of(KeyType.CONFIG),
             "positions");
 
+    /**
+     * Kafka position forwarding value format. Available options are "json" and "protobuf". The "protobuf" format uses
+     * the PositionData message from ForwardMessages.proto. Default is "json".
+     */
+    public static final ConfigKey<String> FORWARD_KAFKA_FORMAT = new StringConfigKey(
+            "forward.kafka.format",
+            List.of(KeyType.CONFIG),
+            "json");
+
+    /**
+     * Kafka producer acknowledgement mode for position and event forwarding. Available options are "all", "1" and
+     * "0". Default is "all".
+     */
+    public static final ConfigKey<String> FORWARD_KAFKA_ACKS = new StringConfigKey(
+            "forward.kafka.acks",
+            List.of(KeyType.CONFIG),
+            "all");
+
+    /**
+     * Kafka producer linger time in milliseconds for position and event forwarding. Records sent within this time are
+     * grouped into a single request per partition. Default is 5 milliseconds.
+     */
+    public static final ConfigKey<Integer> FORWARD_KAFKA_LINGER = new IntegerConfigKey(
+            "forward.kafka.linger",
+            List.of(KeyType.CONFIG),
+            5);
+
+    /**
+     * Kafka producer batch size in bytes per partition for position and event forwarding. Default is 65536 bytes.
+     */
+    public static final ConfigKey<Integer> FORWARD_KAFKA_BATCH_SIZE = new IntegerConfigKey(
+            "forward.kafka.batchSize",
+            List.of(KeyType.CONFIG),
+            65536);
+
+    /**
+     * Kafka producer compression for position and event forwarding. Available options are "none", "gzip", "snappy",
+     * "lz4" and "zstd". Default is "none".
+     */
+    public static final ConfigKey<String> FORWARD_KAFKA_COMPRESSION = new StringConfigKey(
+            "forward.kafka.compression",
+            List.of(KeyType.CONFIG),
+            "none");
+
     /**
      * URL to forward positions. Data is passed through URL parameters. For example, {uniqueId} for device identifier,
      * {latitude} and {longitude} for coordinates.
@@ -935,6 +1034,41 @@ public final class Keys {
             "forward.header",
             List.of(KeyType.CONFIG));
 
+    /**
+     * Maximum number of positions in one request for the "batch" forwarding type. Default is 100 positions.
+     */
+    public static final ConfigKey<Integer> FORWARD_BATCH_SIZE = new IntegerConfigKey(
+            "forward.batch.size",
+            List.of(KeyType.CONFIG),
+            100);
+
+    /**
+     * Time in milliseconds to wait for more positions before sending an incomplete batch. Default is 100
+     * milliseconds.
+     */
+    public static final ConfigKey<Long> FORWARD_BATCH_LINGER = new LongConfigKey(
+            "forward.batch.linger",
+            List.of(KeyType.CONFIG),
+            100L);
+
+    /**
+     * Maximum number of positions waiting to be sent by the "batch" forwarding type. When the queue is full, new
+     * positions are rejected as failed deliveries. Default is 10000 positions.
+     */
+    public static final ConfigKey<Integer> FORWARD_BATCH_QUEUE = new IntegerConfigKey(
+            "forward.batch.queue",
+            List.of(KeyType.CONFIG),
+            10000);
+
+    /**
+     * Request body format for the "batch" forwarding type. Available options are "json" for a JSON array and
+     * "ndjson" for newline delimited JSON. Default is "json".
+     */
+    public static final ConfigKey<String> FORWARD_BATCH_FORMAT = new StringConfigKey(
+            "forward.batch.format",
+            List.of(KeyType.CONFIG),
+            "json");
+
     /**
      * Position forwarding retrying enable. When enabled, additional attempts are made to deliver positions. If initial
      * delivery fails, because of an unreachable server or an HTTP response different from '2xx', the software waits
@@ -973,6 +1107,33 @@ public final class Keys {
             List.of(KeyType.CONFIG),
             100);
 
+    /**
+     * Directory for the position forwarding spool. If set, positions that fail delivery are written to memory-mapped
+     * files on disk instead of being retried in memory. Spooled positions are replayed in order once the forwarding
+     * target recovers, including after a server restart. While the spool is not empty, new positions are appended to
+     * it as well, so that delivery order is preserved.
+     */
+    public static final ConfigKey<String> FORWARD_SPOOL_PATH = new StringConfigKey(
+            "forward.spool.path",
+            List.of(KeyType.CONFIG));
+
+    /**
+     * Position forwarding spool segment file size in bytes. Defaults to 64 MB.
+     */
+    public static final ConfigKey<Long> FORWARD_SPOOL_SEGMENT_SIZE = new LongConfigKey(
+            "forward.spool.segmentSize",
+            List.of(KeyType.CONFIG),
+            64L * 1024 * 1024);
+
+    /**
+     * Maximum number of spooled positions replayed at the same time. Positions of the same device are always sent
+     * one after another. Defaults to 100 positions.
+     */
+    public static final ConfigKey<Integer> FORWARD_SPOOL_WINDOW = new IntegerConfigKey(
+            "forward.spool.window",
+            List.of(KeyType.CONFIG),
+            100);
+
     /**
      * Events forwarding format. Available options are "json" and "kafka". Default is "json".
      */
@@ -1336,6 +1497,14 @@ public final class Keys {
             "report.periodLimit",
             List.of(KeyType.CONFIG));
 
+    /**
+     * Number of devices processed in parallel when generating multi-device reports. By default, it's half of the
+     * database connection pool size. Value of 1 disables parallel processing.
+     */
+    public static final ConfigKey<Integer> REPORT_CONCURRENCY = new IntegerConfigKey(
+            "report.concurrency",
+            List.of(KeyType.CONFIG));
+
     /**
      * Time threshold for fast reports. Fast reports are more efficient, but less accurate and missing some information.
      * The value is in seconds. One day by default.
@@ -1520,6 +1689,15 @@ public final class Keys {
             "filter.relative",
             List.of(KeyType.CONFIG));
 
+    /**
+     * Number of recent positions kept in memory for each device when relative filtering is enabled. Preceding
+     * positions for fixes older than this window are loaded from the database. Default value is 10.
+     */
+    public static final ConfigKey<Integer> FILTER_RELATIVE_WINDOW = new IntegerConfigKey(
+            "filter.relativeWindow",
+            List.of(KeyType.CONFIG),
+            10);
+
     /**
      * Time limit for the filtering in seconds. If the time difference between the last position was received by server
      * and a new position is received by server is more than this limit, the new position will not be filtered out.
@@ -1710,6 +1888,44 @@ public final class Keys {
             "geocoder.cacheSize",
             List.of(KeyType.CONFIG));
 
+    /**
+     * Geocoder cache cell size in meters. Positions within the same cell share a cached address. By default only
+     * identical coordinates share an address.
+     */
+    public static final ConfigKey<Integer> GEOCODER_CACHE_CELL_SIZE = new IntegerConfigKey(
+            "geocoder.cache.cellSize",
+            List.of(KeyType.CONFIG));
+
+    /**
+     * Geocoder cache entry lifetime in seconds. By default entries only expire when the cache is full.
+     */
+    public static final ConfigKey<Long> GEOCODER_CACHE_TTL = new LongConfigKey(
+            "geocoder.cache.ttl",
+            List.of(KeyType.CONFIG));
+
+    /**
+     * Optional file to keep geocoder cache between restarts. The cache is loaded on startup and saved on shutdown.
+     */
+    public static final ConfigKey<String> GEOCODER_CACHE_FILE = new StringConfigKey(
+            "geocoder.cache.file",
+            List.of(KeyType.CONFIG));
+
+    /**
+     * Maximum number of reverse geocoding requests per second sent to the provider. Requests over the limit fail
+     * without an address. By default there is no limit.
+     */
+    public static final ConfigKey<Double> GEOCODER_RATE_LIMIT = new DoubleConfigKey(
+            "geocoder.rateLimit",
+            List.of(KeyType.CONFIG));
+
+    /**
+     * Maximum number of reverse geocoding requests in progress at the same time. Requests over the limit fail
+     * without an address. By default there is no limit.
+     */
+    public static final ConfigKey<Integer> GEOCODER_MAX_CONCURRENT = new IntegerConfigKey(
+            "geocoder.maxConcurrent",
+            List.of(KeyType.CONFIG));
+
     /**
      * Disable automatic reverse geocoding requests for all positions.
      */
@@ -2032,6 +2248,15 @@ public final class Keys {
             "broadcast.port",
             List.of(KeyType.CONFIG));
 
+    /**
+     * Time in milliseconds to collect outgoing synchronization events before sending them together in one batch.
+     * Default value is 10 milliseconds. Value of 0 sends events as soon as the publisher picks them up.
+     */
+    public static final ConfigKey<Long> BROADCAST_BATCH_DELAY = new LongConfigKey(
+            "broadcast.batchDelay",
+            List.of(KeyType.CONFIG),
+            10L);
+
     /**
      * Flag to mark secondary servers. Some tasks, like scheduled reports, will be executed on the main server only.
      */
@@ -0,0 +1,118 @@
+/*
+ * Copyright 2025 Anton Tananaev (anton@traccar.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.traccar.database;
+
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.traccar.LifecycleObject;
+import org.traccar.config.Config;
+import org.traccar.config.Keys;
+import org.traccar.model.Device;
+import org.traccar.storage.Storage;
+import org.traccar.storage.StorageException;
+import org.traccar.storage.query.Columns;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+
+@Singleton
+public class DeviceUpdateManager implements LifecycleObject {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(DeviceUpdateManager.class);
+
+    private final Storage storage;
+    private final long interval;
+
+    private final Map<Long, Long> positionIds = new ConcurrentHashMap<>();
+    private final Map<Long, Date> lastUpdates = new ConcurrentHashMap<>();
+
+    private ScheduledExecutorService executor;
+
+    @Inject
+    public DeviceUpdateManager(Config config, Storage storage) {
+        this.storage = storage;
+        interval = config.getLong(Keys.DATABASE_DEVICE_UPDATE_INTERVAL);
+    }
+
+    public boolean isEnabled() {
+        return interval > 0;
+    }
+
+    public void updatePosition(long deviceId, long positionId) {
+        positionIds.put(deviceId, positionId);
+    }
+
+    public void updateLastUpdate(long deviceId, Date lastUpdate) {
+        lastUpdates.put(deviceId, lastUpdate);
+    }
+
+    @Override
+    public void start() {
+        if (isEnabled()) {
+            executor = Executors.newSingleThreadScheduledExecutor();
+            executor.scheduleWithFixedDelay(this::flush, interval, interval, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @Override
+    public void stop() throws InterruptedException {
+        if (executor != null) {
+            executor.shutdown();
+            executor.awaitTermination(interval, TimeUnit.MILLISECONDS);
+            executor = null;
+            flush();
+        }
+    }
+
+    private void flush() {
+        flush(positionIds, Device::setPositionId, "positionId");
+        flush(lastUpdates, Device::setLastUpdate, "lastUpdate");
+    }
+
+    private <V> void flush(Map<Long, V> values, BiConsumer<Device, V> setter, String column) {
+        Map<Long, V> removed = new HashMap<>();
+        List<Device> devices = new ArrayList<>();
+        for (long deviceId : values.keySet()) {
+            V value = values.remove(deviceId);
+            if (value != null) {
+                removed.put(deviceId, value);
+                Device device = new Device();
+                device.setId(deviceId);
+                setter.accept(device, value);
+                devices.add(device);
+            }
+        }
+        if (!devices.isEmpty()) {
+            try {
+                storage.updateObjects(devices, new Columns.Include(column));
+            } catch (StorageException | RuntimeException error) {
+                LOGGER.warn("Failed to update devices", error);
+                removed.forEach(values::putIfAbsent);
+            }
+        }
+    }
+
+}
@@ -0,0 +1,125 @@
+/*
+ * Copyright 2025 Anton Tananaev (anton@traccar.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.traccar.database;
+
+import jakarta.inject.Singleton;
+import org.traccar.helper.LatencyHistogram;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Registry of live server metrics, rendered in Prometheus text exposition format. Metrics are registered once and
+ * then updated by the owning component without any locking.
+ */
+@Singleton
+public class MetricsManager {
+
+    private static final String TYPE_COUNTER = "counter";
+    private static final String TYPE_GAUGE = "gauge";
+    private static final String TYPE_HISTOGRAM = "histogram";
+
+    private record Family(String type, String help, Map<String, Object> metrics) {
+    }
+
+    private final Map<String, Family> families = new ConcurrentSkipListMap<>();
+
+    private static String formatLabel(String label, String value) {
+        if (label == null) {
+            return "";
+        }
+        String escaped = value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+        return label + "=\"" + escaped + "\"";
+    }
+
+    private Object register(String name, String type, String help, String labels, Supplier<Object> supplier) {
+        Family family = families.computeIfAbsent(name, key -> new Family(type, help, new ConcurrentSkipListMap<>()));
+        if (!family.type().equals(type)) {
+            throw new IllegalArgumentException("Metric " + name + " is already registered as " + family.type());
+        }
+        Object metric = family.metrics().get(labels);
+        if (metric == null) {
+            metric = family.metrics().computeIfAbsent(labels, key -> supplier.get());
+        }
+        return metric;
+    }
+
+    public LongAdder counter(String name, String help, String label, String value) {
+        return (LongAdder) register(name, TYPE_COUNTER, help, formatLabel(label, value), LongAdder::new);
+    }
+
+    public LatencyHistogram histogram(String name, String help, String label, String value) {
+        return (LatencyHistogram) register(
+                name, TYPE_HISTOGRAM, help, formatLabel(label, value), LatencyHistogram::new);
+    }
+
+    public void gauge(String name, String help, LongSupplier supplier) {
+        Family family = families.computeIfAbsent(
+                name, key -> new Family(TYPE_GAUGE, help, new ConcurrentSkipListMap<>()));
+        family.metrics().put("", supplier);
+    }
+
+    public String format() {
+        StringBuilder builder = new StringBuilder();
+        families.forEach((name, family) -> {
+            builder.append("# HELP ").append(name).append(' ').append(family.help()).append('\n');
+            builder.append("# TYPE ").append(name).append(' ').append(family.type()).append('\n');
+            family.metrics().forEach((labels, metric) -> {
+                if (metric instanceof LongAdder counter) {
+                    appendSample(builder, name, labels, null, String.valueOf(counter.sum()));
+                } else if (metric instanceof LongSupplier gauge) {
+                    appendSample(builder, name, labels, null, String.valueOf(gauge.getAsLong()));
+                } else if (metric instanceof LatencyHistogram histogram) {
+                    appendHistogram(builder, name, labels, histogram);
+                }
+            });
+        });
+        return builder.toString();
+    }
+
+    private static void appendHistogram(StringBuilder builder, String name, String labels, LatencyHistogram histogram) {
+        long[] counts = histogram.getCounts();
+        long total = 0;
+        for (int i = 0; i < LatencyHistogram.getBucketCount(); i++) {
+            total += counts[i];
+            String bound = formatLabel("le", String.valueOf(LatencyHistogram.getUpperBound(i)));
+            appendSample(builder, name + "_bucket", labels, bound, String.valueOf(total));
+        }
+        total += counts[LatencyHistogram.getBucketCount()];
+        appendSample(builder, name + "_bucket", labels, formatLabel("le", "+Inf"), String.valueOf(total));
+        appendSample(builder, name + "_sum", labels, null, String.valueOf(histogram.getSum()));
+        appendSample(builder, name + "_count", labels, null, String.valueOf(total));
+    }
+
+    private static void appendSample(StringBuilder builder, String name, String labels, String extra, String value) {
+        builder.append(name);
+        if (!labels.isEmpty() || extra != null) {
+            builder.append('{').append(labels);
+            if (extra != null) {
+                if (!labels.isEmpty()) {
+                    builder.append(',');
+                }
+                builder.append(extra);
+            }
+            builder.append('}');
+        }
+        builder.append(' ').append(value).append('\n');
+    }
+
+}
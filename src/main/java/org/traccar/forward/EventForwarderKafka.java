@@ -1,5 +1,5 @@
 /*
- * Copyright 2022 Anton Tananaev (anton@traccar.org)
+ * Copyright 2022 - 2025 Anton Tananaev (anton@traccar.org)
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -23,23 +23,17 @@ import org.apache.kafka.clients.producer.ProducerRecord;
 import org.traccar.config.Config;
 import org.traccar.config.Keys;
 
-import java.util.Properties;
-
 public class EventForwarderKafka implements EventForwarder {
 
-    private final Producer<String, String> producer;
+    private final Producer<String, byte[]> producer;
     private final ObjectMapper objectMapper;
 
     private final String topic;
 
     public EventForwarderKafka(Config config, ObjectMapper objectMapper) {
         this.objectMapper = objectMapper;
-        Properties properties = new Properties();
-        properties.put("bootstrap.servers", config.getString(Keys.EVENT_FORWARD_URL));
-        properties.put("acks", "all");
-        properties.put("key.serializer", "org.apache.kafka.common.serialization.StringSerializer");
-        properties.put("value.serializer", "org.apache.kafka.common.serialization.StringSerializer");
-        producer = new KafkaProducer<>(properties);
+        producer = new KafkaProducer<>(
+                PositionForwarderKafka.createProperties(config, config.getString(Keys.EVENT_FORWARD_URL)));
         topic = config.getString(Keys.EVENT_FORWARD_TOPIC);
     }
 
@@ -47,10 +41,11 @@ public class EventForwarderKafka implements EventForwarder {
     public void forward(EventData eventData, ResultHandler resultHandler) {
         try {
             String key = Long.toString(eventData.getDevice().getId());
-            String value = objectMapper.writeValueAsString(eventData);
-            producer.send(new ProducerRecord<>(topic, key, value));
-            resultHandler.onResult(true, null);
-        } catch (JsonProcessingException e) {
+            byte[] value = objectMapper.writeValueAsBytes(eventData);
+            producer.send(
+                    new ProducerRecord<>(topic, key, value),
+                    (metadata, exception) -> resultHandler.onResult(exception == null, exception));
+        } catch (JsonProcessingException | RuntimeException e) {
             resultHandler.onResult(false, e);
         }
     }
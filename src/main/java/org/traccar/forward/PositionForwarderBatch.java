@@ -0,0 +1,180 @@
+/*
+ * Copyright 2025 Anton Tananaev (anton@traccar.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.traccar.forward;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.ws.rs.client.Client;
+import jakarta.ws.rs.client.Entity;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import org.traccar.LifecycleObject;
+import org.traccar.config.Config;
+import org.traccar.config.Keys;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Forwards positions as JSON array or newline delimited JSON in HTTP POST requests. Positions are queued in a bounded
+ * queue and sent by a single thread, so at most one request is in flight. If the queue is full, the position is
+ * reported as failed without waiting. Positions still queued when the forwarder stops are reported as failed.
+ */
+public class PositionForwarderBatch implements PositionForwarder, LifecycleObject {
+
+    private static final MediaType NDJSON_TYPE = new MediaType("application", "x-ndjson");
+
+    private record Item(PositionData positionData, ResultHandler resultHandler) {
+    }
+
+    private final Client client;
+    private final ObjectMapper objectMapper;
+
+    private final String url;
+    private final Map<String, String> headers;
+    private final MediaType mediaType;
+    private final boolean ndjson;
+    private final int batchSize;
+    private final long linger;
+
+    private final BlockingQueue<Item> queue;
+
+    private Thread thread;
+    private volatile boolean stopped;
+
+    public PositionForwarderBatch(Config config, Client client, ObjectMapper objectMapper) {
+        this.client = client;
+        this.objectMapper = objectMapper;
+        url = config.getString(Keys.FORWARD_URL);
+        headers = PositionForwarderUrl.parseHeaders(config.getString(Keys.FORWARD_HEADER));
+        ndjson = config.getString(Keys.FORWARD_BATCH_FORMAT).equals("ndjson");
+        String contentType = headers.remove(HttpHeaders.CONTENT_TYPE);
+        if (contentType != null) {
+            mediaType = MediaType.valueOf(contentType);
+        } else {
+            mediaType = ndjson ? NDJSON_TYPE : MediaType.APPLICATION_JSON_TYPE;
+        }
+        batchSize = Math.max(config.getInteger(Keys.FORWARD_BATCH_SIZE), 1);
+        linger = config.getLong(Keys.FORWARD_BATCH_LINGER);
+        queue = new LinkedBlockingQueue<>(config.getInteger(Keys.FORWARD_BATCH_QUEUE));
+    }
+
+    @Override
+    public void start() {
+        thread = new Thread(this::run, "position-forwarder");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @Override
+    public void stop() throws InterruptedException {
+        stopped = true;
+        if (thread != null) {
+            thread.interrupt();
+            thread.join();
+            thread = null;
+        }
+        List<Item> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        failAll(remaining, new RuntimeException("Forwarder is stopped"));
+    }
+
+    @Override
+    public void forward(PositionData positionData, ResultHandler resultHandler) {
+        Item item = new Item(positionData, resultHandler);
+        if (stopped) {
+            resultHandler.onResult(false, new RuntimeException("Forwarder is stopped"));
+        } else if (!queue.offer(item)) {
+            resultHandler.onResult(false, new RuntimeException("Forwarding queue is full"));
+        } else if (stopped && queue.remove(item)) {
+            resultHandler.onResult(false, new RuntimeException("Forwarder is stopped"));
+        }
+    }
+
+    private static void failAll(List<Item> items, Throwable error) {
+        items.forEach(item -> item.resultHandler().onResult(false, error));
+    }
+
+    private void run() {
+        List<Item> batch = new ArrayList<>(batchSize);
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                batch.add(queue.take());
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(linger);
+                queue.drainTo(batch, batchSize - batch.size());
+                while (batch.size() < batchSize) {
+                    Item item = queue.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                    if (item == null) {
+                        break;
+                    }
+                    batch.add(item);
+                    queue.drainTo(batch, batchSize - batch.size());
+                }
+                send(batch);
+                batch.clear();
+            }
+        } catch (InterruptedException e) {
+            failAll(batch, e);
+        }
+    }
+
+    private String formatBody(List<Item> batch) throws JsonProcessingException {
+        StringBuilder body = new StringBuilder();
+        if (!ndjson) {
+            body.append('[');
+        }
+        for (int i = 0; i < batch.size(); i++) {
+            if (i > 0 && !ndjson) {
+                body.append(',');
+            }
+            body.append(objectMapper.writeValueAsString(batch.get(i).positionData()));
+            if (ndjson) {
+                body.append('\n');
+            }
+        }
+        if (!ndjson) {
+            body.append(']');
+        }
+        return body.toString();
+    }
+
+    private void send(List<Item> batch) {
+        boolean success = false;
+        Throwable error = null;
+        try {
+            var requestBuilder = client.target(url).request();
+            headers.forEach(requestBuilder::header);
+            try (Response response = requestBuilder.post(Entity.entity(formatBody(batch), mediaType))) {
+                if (response.getStatusInfo().getFamily() == Response.Status.Family.SUCCESSFUL) {
+                    success = true;
+                } else {
+                    error = new RuntimeException("HTTP code " + response.getStatusInfo().getStatusCode());
+                }
+            }
+        } catch (JsonProcessingException | RuntimeException e) {
+            error = e;
+        }
+        for (Item item : batch) {
+            item.resultHandler().onResult(success, error);
+        }
+    }
+
+}
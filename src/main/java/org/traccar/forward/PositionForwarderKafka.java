@@ -1,5 +1,5 @@
 /*
- * Copyright 2022 - 2024 Anton Tananaev (anton@traccar.org)
+ * Copyright 2022 - 2025 Anton Tananaev (anton@traccar.org)
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -20,40 +20,162 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import org.apache.kafka.clients.producer.KafkaProducer;
 import org.apache.kafka.clients.producer.Producer;
 import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
 import org.apache.kafka.common.serialization.StringSerializer;
 import org.traccar.config.Config;
 import org.traccar.config.Keys;
+import org.traccar.model.Device;
+import org.traccar.model.Position;
+import org.traccar.protobuf.forward.ForwardMessages;
 
+import java.util.Map;
 import java.util.Properties;
 
 public class PositionForwarderKafka implements PositionForwarder {
 
-    private final Producer<String, String> producer;
+    private final Producer<String, byte[]> producer;
     private final ObjectMapper objectMapper;
 
     private final String topic;
+    private final boolean protobuf;
 
-    public PositionForwarderKafka(Config config, ObjectMapper objectMapper) {
-        this.objectMapper = objectMapper;
+    static Properties createProperties(Config config, String servers) {
+        String acks = config.getString(Keys.FORWARD_KAFKA_ACKS);
         Properties properties = new Properties();
-        properties.put("bootstrap.servers", config.getString(Keys.FORWARD_URL));
-        properties.put("acks", "all");
+        properties.put("bootstrap.servers", servers);
+        properties.put("acks", acks);
+        properties.put("enable.idempotence", String.valueOf(acks.equals("all")));
+        properties.put("linger.ms", config.getInteger(Keys.FORWARD_KAFKA_LINGER));
+        properties.put("batch.size", config.getInteger(Keys.FORWARD_KAFKA_BATCH_SIZE));
+        properties.put("compression.type", config.getString(Keys.FORWARD_KAFKA_COMPRESSION));
         properties.put("key.serializer", StringSerializer.class.getName());
-        properties.put("value.serializer", StringSerializer.class.getName());
-        producer = new KafkaProducer<>(properties);
+        properties.put("value.serializer", ByteArraySerializer.class.getName());
+        return properties;
+    }
+
+    public PositionForwarderKafka(Config config, ObjectMapper objectMapper) {
+        this(config, objectMapper, new KafkaProducer<>(createProperties(config, config.getString(Keys.FORWARD_URL))));
+    }
+
+    public PositionForwarderKafka(Config config, ObjectMapper objectMapper, Producer<String, byte[]> producer) {
+        this.objectMapper = objectMapper;
+        this.producer = producer;
         topic = config.getString(Keys.FORWARD_TOPIC);
+        protobuf = config.getString(Keys.FORWARD_KAFKA_FORMAT).equals("protobuf");
     }
 
     @Override
     public void forward(PositionData positionData, ResultHandler resultHandler) {
         try {
             String key = Long.toString(positionData.getDevice().getId());
-            String value = objectMapper.writeValueAsString(positionData);
-            producer.send(new ProducerRecord<>(topic, key, value));
-            resultHandler.onResult(true, null);
-        } catch (JsonProcessingException e) {
+            byte[] value = protobuf ? encode(positionData) : objectMapper.writeValueAsBytes(positionData);
+            producer.send(
+                    new ProducerRecord<>(topic, key, value),
+                    (metadata, exception) -> resultHandler.onResult(exception == null, exception));
+        } catch (JsonProcessingException | RuntimeException e) {
             resultHandler.onResult(false, e);
         }
     }
 
+    private byte[] encode(PositionData positionData) throws JsonProcessingException {
+        return ForwardMessages.PositionData.newBuilder()
+                .setDevice(encodeDevice(positionData.getDevice()))
+                .setPosition(encodePosition(positionData.getPosition()))
+                .build()
+                .toByteArray();
+    }
+
+    private ForwardMessages.Device encodeDevice(Device device) throws JsonProcessingException {
+        ForwardMessages.Device.Builder builder = ForwardMessages.Device.newBuilder()
+                .setId(device.getId())
+                .setGroupId(device.getGroupId())
+                .setDisabled(device.getDisabled());
+        if (device.getUniqueId() != null) {
+            builder.setUniqueId(device.getUniqueId());
+        }
+        if (device.getName() != null) {
+            builder.setName(device.getName());
+        }
+        if (device.getStatus() != null) {
+            builder.setStatus(device.getStatus());
+        }
+        if (device.getPhone() != null) {
+            builder.setPhone(device.getPhone());
+        }
+        if (device.getModel() != null) {
+            builder.setModel(device.getModel());
+        }
+        if (device.getContact() != null) {
+            builder.setContact(device.getContact());
+        }
+        if (device.getCategory() != null) {
+            builder.setCategory(device.getCategory());
+        }
+        for (Map.Entry<String, Object> entry : device.getAttributes().entrySet()) {
+            if (entry.getValue() != null) {
+                builder.putAttributes(entry.getKey(), encodeValue(entry.getValue()));
+            }
+        }
+        return builder.build();
+    }
+
+    private ForwardMessages.Position encodePosition(Position position) throws JsonProcessingException {
+        ForwardMessages.Position.Builder builder = ForwardMessages.Position.newBuilder()
+                .setId(position.getId())
+                .setDeviceId(position.getDeviceId())
+                .setValid(position.getValid())
+                .setLatitude(position.getLatitude())
+                .setLongitude(position.getLongitude())
+                .setLatitudeWgs84(position.getLatitudeWgs84())
+                .setLongitudeWgs84(position.getLongitudeWgs84())
+                .setAltitude(position.getAltitude())
+                .setSpeed(position.getSpeed())
+                .setCourse(position.getCourse())
+                .setAccuracy(position.getAccuracy());
+        if (position.getProtocol() != null) {
+            builder.setProtocol(position.getProtocol());
+        }
+        if (position.getServerTime() != null) {
+            builder.setServerTime(position.getServerTime().getTime());
+        }
+        if (position.getDeviceTime() != null) {
+            builder.setDeviceTime(position.getDeviceTime().getTime());
+        }
+        if (position.getFixTime() != null) {
+            builder.setFixTime(position.getFixTime().getTime());
+        }
+        if (position.getAddress() != null) {
+            builder.setAddress(position.getAddress());
+        }
+        if (position.getNetwork() != null) {
+            builder.setNetwork(objectMapper.writeValueAsString(position.getNetwork()));
+        }
+        if (position.getGeofenceIds() != null) {
+            builder.addAllGeofenceIds(position.getGeofenceIds());
+        }
+        for (Map.Entry<String, Object> entry : position.getAttributes().entrySet()) {
+            if (entry.getValue() != null) {
+                builder.putAttributes(entry.getKey(), encodeValue(entry.getValue()));
+            }
+        }
+        return builder.build();
+    }
+
+    private ForwardMessages.Value encodeValue(Object value) throws JsonProcessingException {
+        ForwardMessages.Value.Builder builder = ForwardMessages.Value.newBuilder();
+        if (value instanceof String stringValue) {
+            builder.setStringValue(stringValue);
+        } else if (value instanceof Boolean booleanValue) {
+            builder.setBooleanValue(booleanValue);
+        } else if (value instanceof Double || value instanceof Float) {
+            builder.setDoubleValue(((Number) value).doubleValue());
+        } else if (value instanceof Long || value instanceof Integer
+                || value instanceof Short || value instanceof Byte) {
+            builder.setLongValue(((Number) value).longValue());
+        } else {
+            builder.setJsonValue(objectMapper.writeValueAsString(value));
+        }
+        return builder.build();
+    }
+
 }
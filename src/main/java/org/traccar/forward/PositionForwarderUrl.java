@@ -1,5 +1,5 @@
 /*
- * Copyright 2022 Anton Tananaev (anton@traccar.org)
+ * Copyright 2022 - 2025 Anton Tananaev (anton@traccar.org)
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -20,24 +20,30 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import org.traccar.config.Config;
 import org.traccar.config.Keys;
 import org.traccar.helper.Checksum;
-import org.traccar.model.Device;
 import org.traccar.model.Position;
 
 import jakarta.ws.rs.client.Client;
 import jakarta.ws.rs.client.InvocationCallback;
 import jakarta.ws.rs.core.Response;
-import java.io.UnsupportedEncodingException;
 import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.Calendar;
 import java.util.Formatter;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.TimeZone;
 
 public class PositionForwarderUrl implements PositionForwarder {
 
-    private final String url;
-    private final String header;
+    private interface Segment {
+        void append(StringBuilder builder, PositionData positionData) throws JsonProcessingException;
+    }
+
+    private final List<Segment> segments;
+    private final Map<String, String> headers;
 
     private final Client client;
     private final ObjectMapper objectMapper;
@@ -45,8 +51,74 @@ public class PositionForwarderUrl implements PositionForwarder {
     public PositionForwarderUrl(Config config, Client client, ObjectMapper objectMapper) {
         this.client = client;
         this.objectMapper = objectMapper;
-        this.url = config.getString(Keys.FORWARD_URL);
-        this.header = config.getString(Keys.FORWARD_HEADER);
+        this.segments = compileTemplate(config.getString(Keys.FORWARD_URL));
+        this.headers = parseHeaders(config.getString(Keys.FORWARD_HEADER));
+    }
+
+    static Map<String, String> parseHeaders(String header) {
+        Map<String, String> headers = new LinkedHashMap<>();
+        if (header != null && !header.isEmpty()) {
+            for (String line: header.split("\\r?\\n")) {
+                String[] values = line.split(":", 2);
+                headers.put(values[0].trim(), values[1].trim());
+            }
+        }
+        return headers;
+    }
+
+    private List<Segment> compileTemplate(String url) {
+        List<Segment> result = new ArrayList<>();
+        int index = 0;
+        while (index < url.length()) {
+            int start = url.indexOf('{', index);
+            int end = start >= 0 ? url.indexOf('}', start) : -1;
+            if (end < 0) {
+                String literal = url.substring(index);
+                result.add((builder, positionData) -> builder.append(literal));
+                break;
+            }
+            Segment variable = compileVariable(url.substring(start + 1, end));
+            String literal = url.substring(index, variable != null ? start : start + 1);
+            if (!literal.isEmpty()) {
+                result.add((builder, positionData) -> builder.append(literal));
+            }
+            if (variable != null) {
+                result.add(variable);
+                index = end + 1;
+            } else {
+                index = start + 1;
+            }
+        }
+        return result;
+    }
+
+    private Segment compileVariable(String name) {
+        return switch (name) {
+            case "name" -> (builder, data) -> builder.append(
+                    URLEncoder.encode(data.getDevice().getName(), StandardCharsets.UTF_8));
+            case "uniqueId" -> (builder, data) -> builder.append(data.getDevice().getUniqueId());
+            case "status" -> (builder, data) -> builder.append(data.getDevice().getStatus());
+            case "deviceId" -> (builder, data) -> builder.append(data.getPosition().getDeviceId());
+            case "protocol" -> (builder, data) -> builder.append(data.getPosition().getProtocol());
+            case "deviceTime" -> (builder, data) -> builder.append(data.getPosition().getDeviceTime().getTime());
+            case "fixTime" -> (builder, data) -> builder.append(data.getPosition().getFixTime().getTime());
+            case "valid" -> (builder, data) -> builder.append(data.getPosition().getValid());
+            case "latitude" -> (builder, data) -> builder.append(data.getPosition().getLatitude());
+            case "longitude" -> (builder, data) -> builder.append(data.getPosition().getLongitude());
+            case "altitude" -> (builder, data) -> builder.append(data.getPosition().getAltitude());
+            case "speed" -> (builder, data) -> builder.append(data.getPosition().getSpeed());
+            case "course" -> (builder, data) -> builder.append(data.getPosition().getCourse());
+            case "accuracy" -> (builder, data) -> builder.append(data.getPosition().getAccuracy());
+            case "statusCode" -> (builder, data) -> builder.append(calculateStatus(data.getPosition()));
+            case "address" -> (builder, data) -> {
+                String address = data.getPosition().getAddress();
+                builder.append(address != null ? URLEncoder.encode(address, StandardCharsets.UTF_8) : "{address}");
+            };
+            case "attributes" -> (builder, data) -> builder.append(URLEncoder.encode(
+                    objectMapper.writeValueAsString(data.getPosition().getAttributes()), StandardCharsets.UTF_8));
+            case "gprmc" -> (builder, data) -> builder.append(formatSentence(data.getPosition()));
+            default -> null;
+        };
     }
 
     @Override
@@ -54,15 +126,7 @@ public class PositionForwarderUrl implements PositionForwarder {
         try {
             String url = formatRequest(positionData);
             var requestBuilder = client.target(url).request();
-
-            if (header != null && !header.isEmpty()) {
-                for (String line: header.split("\\r?\\n")) {
-                    String[] values = line.split(":", 2);
-                    String headerName = values[0].trim();
-                    String headerValue = values[1].trim();
-                    requestBuilder.header(headerName, headerValue);
-                }
-            }
+            headers.forEach(requestBuilder::header);
 
             requestBuilder.async().get(new InvocationCallback<Response>() {
                 @Override
@@ -80,50 +144,17 @@ public class PositionForwarderUrl implements PositionForwarder {
                     resultHandler.onResult(false, throwable);
                 }
             });
-        } catch (UnsupportedEncodingException | JsonProcessingException e) {
+        } catch (JsonProcessingException e) {
             resultHandler.onResult(false, e);
         }
     }
 
-    public String formatRequest(
-            PositionData positionData) throws UnsupportedEncodingException, JsonProcessingException {
-
-        Position position = positionData.getPosition();
-        Device device = positionData.getDevice();
-
-        String request = url
-                .replace("{name}", URLEncoder.encode(device.getName(), StandardCharsets.UTF_8))
-                .replace("{uniqueId}", device.getUniqueId())
-                .replace("{status}", device.getStatus())
-                .replace("{deviceId}", String.valueOf(position.getDeviceId()))
-                .replace("{protocol}", String.valueOf(position.getProtocol()))
-                .replace("{deviceTime}", String.valueOf(position.getDeviceTime().getTime()))
-                .replace("{fixTime}", String.valueOf(position.getFixTime().getTime()))
-                .replace("{valid}", String.valueOf(position.getValid()))
-                .replace("{latitude}", String.valueOf(position.getLatitude()))
-                .replace("{longitude}", String.valueOf(position.getLongitude()))
-                .replace("{altitude}", String.valueOf(position.getAltitude()))
-                .replace("{speed}", String.valueOf(position.getSpeed()))
-                .replace("{course}", String.valueOf(position.getCourse()))
-                .replace("{accuracy}", String.valueOf(position.getAccuracy()))
-                .replace("{statusCode}", calculateStatus(position));
-
-        if (position.getAddress() != null) {
-            request = request.replace(
-                    "{address}", URLEncoder.encode(position.getAddress(), StandardCharsets.UTF_8));
+    public String formatRequest(PositionData positionData) throws JsonProcessingException {
+        StringBuilder builder = new StringBuilder();
+        for (Segment segment : segments) {
+            segment.append(builder, positionData);
         }
-
-        if (request.contains("{attributes}")) {
-            String attributes = objectMapper.writeValueAsString(position.getAttributes());
-            request = request.replace(
-                    "{attributes}", URLEncoder.encode(attributes, StandardCharsets.UTF_8));
-        }
-
-        if (request.contains("{gprmc}")) {
-            request = request.replace("{gprmc}", formatSentence(position));
-        }
-
-        return request;
+        return builder.toString();
     }
 
     private static String formatSentence(Position position) {
@@ -153,7 +184,7 @@ public class PositionForwarderUrl implements PositionForwarder {
     }
 
     // OpenGTS status code
-    private String calculateStatus(Position position) {
+    private static String calculateStatus(Position position) {
         if (position.hasAttribute(Position.KEY_ALARM)) {
             return "0xF841"; // STATUS_PANIC_ON
         } else if (position.getSpeed() < 1.0) {
@@ -0,0 +1,220 @@
+/*
+ * Copyright 2025 Anton Tananaev (anton@traccar.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.traccar.forward;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Append-only queue of records stored in memory-mapped segment files. Each record is a length prefix followed by
+ * the payload, and a zero length marks the end of written data in a segment. The committed read position is kept in
+ * a separate checkpoint file, so records survive restarts until they are committed. Only the current write segment
+ * and checkpoint are mapped. Older segments are read through a file channel that is closed before the segment is
+ * deleted, so memory use does not depend on the backlog size. Written data and checkpoint are forced to disk on
+ * segment switch and commit.
+ */
+public class PositionSpool {
+
+    private static final String SEGMENT_SUFFIX = ".spool";
+    private static final String CHECKPOINT_FILE = "checkpoint";
+    private static final int HEADER_SIZE = Integer.BYTES;
+
+    private final Path directory;
+    private final int segmentSize;
+
+    private final MappedByteBuffer checkpoint;
+
+    private long writeSegment;
+    private int writeOffset;
+    private MappedByteBuffer writeBuffer;
+
+    private long readSegment;
+    private int readOffset;
+
+    private long pendingSegment;
+    private int pendingOffset;
+
+    private long channelSegment = -1;
+    private FileChannel readChannel;
+
+    public PositionSpool(Path directory, long segmentSize) throws IOException {
+        this.directory = directory;
+        this.segmentSize = (int) Math.min(segmentSize, Integer.MAX_VALUE);
+        Files.createDirectories(directory);
+
+        try (FileChannel channel = FileChannel.open(
+                directory.resolve(CHECKPOINT_FILE),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            checkpoint = channel.map(FileChannel.MapMode.READ_WRITE, 0, Long.BYTES + Integer.BYTES);
+        }
+        readSegment = checkpoint.getLong(0);
+        readOffset = checkpoint.getInt(Long.BYTES);
+
+        List<Long> segments = new ArrayList<>();
+        try (Stream<Path> files = Files.list(directory)) {
+            files.map(file -> file.getFileName().toString())
+                    .filter(name -> name.endsWith(SEGMENT_SUFFIX))
+                    .map(name -> Long.parseLong(name.substring(0, name.length() - SEGMENT_SUFFIX.length())))
+                    .sorted()
+                    .forEach(segments::add);
+        }
+        for (long segment : segments) {
+            if (segment < readSegment) {
+                Files.delete(segmentPath(segment));
+            }
+        }
+
+        writeSegment = Math.max(readSegment, segments.isEmpty() ? 0 : segments.get(segments.size() - 1));
+        writeBuffer = map(writeSegment);
+        writeOffset = writeSegment == readSegment ? readOffset : 0;
+        while (writeOffset + HEADER_SIZE <= this.segmentSize) {
+            int length = writeBuffer.getInt(writeOffset);
+            if (length <= 0 || writeOffset + HEADER_SIZE + length > this.segmentSize) {
+                break;
+            }
+            writeOffset += HEADER_SIZE + length;
+        }
+
+        pendingSegment = readSegment;
+        pendingOffset = readOffset;
+    }
+
+    private Path segmentPath(long segment) {
+        return directory.resolve(String.format("%020d%s", segment, SEGMENT_SUFFIX));
+    }
+
+    private MappedByteBuffer map(long segment) throws IOException {
+        try (FileChannel channel = FileChannel.open(
+                segmentPath(segment), StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            return channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+        }
+    }
+
+    private void closeReadChannel() throws IOException {
+        if (readChannel != null) {
+            readChannel.close();
+            readChannel = null;
+            channelSegment = -1;
+        }
+    }
+
+    private void readData(long segment, int offset, byte[] data) throws IOException {
+        if (segment == writeSegment) {
+            writeBuffer.get(offset, data);
+            return;
+        }
+        if (segment != channelSegment) {
+            closeReadChannel();
+            readChannel = FileChannel.open(segmentPath(segment), StandardOpenOption.READ);
+            channelSegment = segment;
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(data);
+        while (buffer.hasRemaining()) {
+            if (readChannel.read(buffer, offset + buffer.position()) < 0) {
+                throw new EOFException();
+            }
+        }
+    }
+
+    /**
+     * Append a record. Returns false if the record is empty or does not fit into a single segment.
+     */
+    public synchronized boolean append(byte[] data) throws IOException {
+        if (data.length == 0 || HEADER_SIZE + data.length > segmentSize) {
+            return false;
+        }
+        if (writeOffset + HEADER_SIZE + data.length > segmentSize) {
+            writeBuffer.force();
+            writeSegment += 1;
+            writeOffset = 0;
+            writeBuffer = map(writeSegment);
+        }
+        writeBuffer.put(writeOffset + HEADER_SIZE, data);
+        writeBuffer.putInt(writeOffset, data.length);
+        writeOffset += HEADER_SIZE + data.length;
+        return true;
+    }
+
+    public synchronized boolean isEmpty() {
+        return readSegment == writeSegment && readOffset == writeOffset;
+    }
+
+    /**
+     * Approximate number of bytes waiting to be committed.
+     */
+    public synchronized long size() {
+        return (writeSegment - readSegment) * segmentSize + writeOffset - readOffset;
+    }
+
+    /**
+     * Read up to the given number of records starting from the committed position. Records are not removed until
+     * {@link #commit()} is called, so repeated reads return the same records.
+     */
+    public synchronized List<byte[]> read(int limit) throws IOException {
+        List<byte[]> records = new ArrayList<>();
+        long segment = readSegment;
+        int offset = readOffset;
+        byte[] header = new byte[HEADER_SIZE];
+        while (records.size() < limit && (segment != writeSegment || offset != writeOffset)) {
+            int length = 0;
+            if (offset + HEADER_SIZE <= segmentSize) {
+                readData(segment, offset, header);
+                length = ByteBuffer.wrap(header).getInt();
+            }
+            if (length <= 0 && segment != writeSegment) {
+                segment += 1;
+                offset = 0;
+                continue;
+            }
+            byte[] data = new byte[length];
+            readData(segment, offset + HEADER_SIZE, data);
+            records.add(data);
+            offset += HEADER_SIZE + length;
+        }
+        pendingSegment = segment;
+        pendingOffset = offset;
+        return records;
+    }
+
+    /**
+     * Remove records returned by the last {@link #read(int)} call and delete segments that are fully consumed.
+     */
+    public synchronized void commit() throws IOException {
+        writeBuffer.force();
+        if (channelSegment >= 0 && channelSegment < pendingSegment) {
+            closeReadChannel();
+        }
+        long consumedSegment = readSegment;
+        readSegment = pendingSegment;
+        readOffset = pendingOffset;
+        checkpoint.putLong(0, readSegment);
+        checkpoint.putInt(Long.BYTES, readOffset);
+        checkpoint.force();
+        for (long segment = consumedSegment; segment < readSegment; segment++) {
+            Files.deleteIfExists(segmentPath(segment));
+        }
+    }
+
+}
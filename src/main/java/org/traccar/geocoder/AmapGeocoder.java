@@ -1,6 +1,6 @@
 /*
 * 高德地图逆地址转换
-* Copyright 2015 Bgrsh (576998@qq.com)
+* Copyright 2015 - 2025 Bgrsh (576998@qq.com)
 */
 package org.traccar.geocoder;
  
@@ -18,8 +18,8 @@ public class AmapGeocoder extends JsonGeocoder {
       return url;
   }
  
-  public AmapGeocoder(Client client, String url, String key, int cacheSize, AddressFormat addressFormat) {
-      super(client, formatUrl(url, key), cacheSize, addressFormat);
+  public AmapGeocoder(Client client, String url, String key, AddressFormat addressFormat) {
+      super(client, formatUrl(url, key), addressFormat);
   }
  
   @Override
@@ -0,0 +1,69 @@
+/*
+ * Copyright 2025 Anton Tananaev (anton@traccar.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.traccar.geocoder;
+
+import org.traccar.database.StatisticsManager;
+
+public class CachingGeocoder implements Geocoder {
+
+    private final Geocoder geocoder;
+    private final GeocoderCache cache;
+
+    public CachingGeocoder(Geocoder geocoder, GeocoderCache cache) {
+        this.geocoder = geocoder;
+        this.cache = cache;
+    }
+
+    @Override
+    public String getAddress(double latitude, double longitude, ReverseGeocoderCallback callback) {
+        String cachedAddress = cache.get(latitude, longitude);
+        if (cachedAddress != null) {
+            if (callback != null) {
+                callback.onSuccess(cachedAddress);
+            }
+            return cachedAddress;
+        }
+
+        if (callback != null) {
+            return geocoder.getAddress(latitude, longitude, new ReverseGeocoderCallback() {
+                @Override
+                public void onSuccess(String address) {
+                    if (address != null) {
+                        cache.put(latitude, longitude, address);
+                    }
+                    callback.onSuccess(address);
+                }
+
+                @Override
+                public void onFailure(Throwable e) {
+                    callback.onFailure(e);
+                }
+            });
+        }
+
+        String address = geocoder.getAddress(latitude, longitude, null);
+        if (address != null) {
+            cache.put(latitude, longitude, address);
+        }
+        return address;
+    }
+
+    @Override
+    public void setStatisticsManager(StatisticsManager statisticsManager) {
+        geocoder.setStatisticsManager(statisticsManager);
+    }
+
+}
@@ -29,8 +29,8 @@ public class FactualGeocoder extends JsonGeocoder {
         return url;
     }
 
-    public FactualGeocoder(Client client, String url, String key, int cacheSize, AddressFormat addressFormat) {
-        super(client, formatUrl(url, key), cacheSize, addressFormat);
+    public FactualGeocoder(Client client, String url, String key, AddressFormat addressFormat) {
+        super(client, formatUrl(url, key), addressFormat);
     }
 
     @Override
@@ -32,8 +32,8 @@ public class GeocodeFarmGeocoder extends JsonGeocoder {
     }
 
     public GeocodeFarmGeocoder(
-            Client client, String key, String language, int cacheSize, AddressFormat addressFormat) {
-        super(client, formatUrl(key, language), cacheSize, addressFormat);
+            Client client, String key, String language, AddressFormat addressFormat) {
+        super(client, formatUrl(key, language), addressFormat);
     }
 
     @Override
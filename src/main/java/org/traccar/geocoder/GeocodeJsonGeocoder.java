@@ -1,5 +1,5 @@
 /*
- * Copyright 2014 - 2024 Anton Tananaev (anton@traccar.org)
+ * Copyright 2014 - 2025 Anton Tananaev (anton@traccar.org)
  * Copyright 2024 - 2024 Matjaž Črnko (m.crnko@txt.i)
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
@@ -37,8 +37,8 @@ public class GeocodeJsonGeocoder extends JsonGeocoder {
     }
 
     public GeocodeJsonGeocoder(
-            Client client, String url, String key, String language, int cacheSize, AddressFormat addressFormat) {
-        super(client, formatUrl(url, key, language), cacheSize, addressFormat);
+            Client client, String url, String key, String language, AddressFormat addressFormat) {
+        super(client, formatUrl(url, key, language), addressFormat);
     }
 
     @Override
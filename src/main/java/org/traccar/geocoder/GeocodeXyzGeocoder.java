@@ -1,5 +1,5 @@
 /*
- * Copyright 2018 Anton Tananaev (anton@traccar.org)
+ * Copyright 2018 - 2025 Anton Tananaev (anton@traccar.org)
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -28,8 +28,8 @@ public class GeocodeXyzGeocoder extends JsonGeocoder {
         return url;
     }
 
-    public GeocodeXyzGeocoder(Client client, String key, int cacheSize, AddressFormat addressFormat) {
-        super(client, formatUrl(key), cacheSize, addressFormat);
+    public GeocodeXyzGeocoder(Client client, String key, AddressFormat addressFormat) {
+        super(client, formatUrl(key), addressFormat);
     }
 
     @Override
@@ -0,0 +1,220 @@
+/*
+ * Copyright 2025 Anton Tananaev (anton@traccar.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.traccar.geocoder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.traccar.LifecycleObject;
+import org.traccar.config.Config;
+import org.traccar.config.Keys;
+import org.traccar.database.MetricsManager;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Address cache shared by all geocoders. Coordinates are rounded to a grid cell, so nearby positions share an address.
+ * Entries are kept in independently locked LRU shards.
+ */
+public class GeocoderCache implements LifecycleObject {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(GeocoderCache.class);
+
+    private static final int SHARDS = 16;
+    private static final int FILE_VERSION = 1;
+    private static final int MAX_ADDRESS_LENGTH = 0xFFFF / 3;
+    private static final double METERS_PER_DEGREE = 111320;
+    private static final double EXACT_CELL_DEGREES = 0.000001;
+
+    private record Entry(String address, long expires) {
+    }
+
+    private static final class Shard extends LinkedHashMap<Long, Entry> {
+
+        private final int capacity;
+
+        Shard(int capacity) {
+            super(16, 0.75f, true);
+            this.capacity = capacity;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, Entry> eldest) {
+            return size() > capacity;
+        }
+    }
+
+    private final Shard[] shards = new Shard[SHARDS];
+    private final int cellSize;
+    private final long ttl;
+    private final Path file;
+
+    private final LongAdder hits;
+    private final LongAdder misses;
+
+    public GeocoderCache(Config config, MetricsManager metricsManager) {
+        int capacity = Math.max(config.getInteger(Keys.GEOCODER_CACHE_SIZE) / SHARDS, 1);
+        for (int i = 0; i < SHARDS; i++) {
+            shards[i] = new Shard(capacity);
+        }
+        cellSize = config.getInteger(Keys.GEOCODER_CACHE_CELL_SIZE);
+        ttl = TimeUnit.SECONDS.toMillis(config.getLong(Keys.GEOCODER_CACHE_TTL));
+        String fileName = config.getString(Keys.GEOCODER_CACHE_FILE);
+        file = fileName != null ? Paths.get(fileName) : null;
+
+        hits = metricsManager.counter(
+                "traccar_geocoder_cache_hits_total", "Addresses served from geocoder cache", null, null);
+        misses = metricsManager.counter(
+                "traccar_geocoder_cache_misses_total", "Addresses not found in geocoder cache", null, null);
+    }
+
+    /**
+     * Cell key for coordinates. Cell size is in meters, zero means rounding to about ten centimeters.
+     */
+    public static long getKey(double latitude, double longitude, int cellSize) {
+        long latitudeIndex;
+        long longitudeIndex;
+        if (cellSize > 0) {
+            double latitudeStep = cellSize / METERS_PER_DEGREE;
+            latitudeIndex = (long) Math.floor(latitude / latitudeStep);
+            double rowLatitude = Math.toRadians((latitudeIndex + 0.5) * latitudeStep);
+            double longitudeStep = latitudeStep / Math.max(Math.cos(rowLatitude), EXACT_CELL_DEGREES);
+            longitudeIndex = (long) Math.floor(longitude / longitudeStep);
+        } else {
+            latitudeIndex = Math.round(latitude / EXACT_CELL_DEGREES);
+            longitudeIndex = Math.round(longitude / EXACT_CELL_DEGREES);
+        }
+        return latitudeIndex << 32 | longitudeIndex & 0xFFFFFFFFL;
+    }
+
+    private Shard getShard(long key) {
+        long hash = key * 0x9E3779B97F4A7C15L;
+        return shards[(int) (hash >>> 60) & (SHARDS - 1)];
+    }
+
+    public String get(double latitude, double longitude) {
+        long key = getKey(latitude, longitude, cellSize);
+        Shard shard = getShard(key);
+        Entry entry;
+        synchronized (shard) {
+            entry = shard.get(key);
+            if (entry != null && entry.expires() > 0 && entry.expires() < System.currentTimeMillis()) {
+                shard.remove(key);
+                entry = null;
+            }
+        }
+        if (entry != null) {
+            hits.increment();
+            return entry.address();
+        }
+        misses.increment();
+        return null;
+    }
+
+    public void put(double latitude, double longitude, String address) {
+        long key = getKey(latitude, longitude, cellSize);
+        Entry entry = new Entry(address, ttl > 0 ? System.currentTimeMillis() + ttl : 0);
+        Shard shard = getShard(key);
+        synchronized (shard) {
+            shard.put(key, entry);
+        }
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    @Override
+    public void start() {
+        if (file == null || !Files.exists(file)) {
+            return;
+        }
+        try (DataInputStream input = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (input.readInt() != FILE_VERSION || input.readInt() != cellSize) {
+                LOGGER.info("Geocoder cache file ignored because of different format or cell size");
+                return;
+            }
+            long now = System.currentTimeMillis();
+            int count = input.readInt();
+            for (int i = 0; i < count; i++) {
+                long key = input.readLong();
+                long expires = input.readLong();
+                String address = input.readUTF();
+                if (expires == 0 || expires > now) {
+                    Shard shard = getShard(key);
+                    synchronized (shard) {
+                        shard.put(key, new Entry(address, expires));
+                    }
+                }
+            }
+        } catch (IOException e) {
+            LOGGER.warn("Geocoder cache loading failed", e);
+        }
+    }
+
+    @Override
+    public void stop() {
+        if (file == null) {
+            return;
+        }
+        List<Map.Entry<Long, Entry>> entries = new ArrayList<>();
+        for (Shard shard : shards) {
+            synchronized (shard) {
+                shard.entrySet().stream()
+                        .filter(entry -> entry.getValue().address().length() <= MAX_ADDRESS_LENGTH)
+                        .forEach(entry -> entries.add(Map.entry(entry.getKey(), entry.getValue())));
+            }
+        }
+        Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+        try (DataOutputStream output = new DataOutputStream(
+                new BufferedOutputStream(Files.newOutputStream(temporary)))) {
+            output.writeInt(FILE_VERSION);
+            output.writeInt(cellSize);
+            output.writeInt(entries.size());
+            for (Map.Entry<Long, Entry> entry : entries) {
+                output.writeLong(entry.getKey());
+                output.writeLong(entry.getValue().expires());
+                output.writeUTF(entry.getValue().address());
+            }
+        } catch (IOException e) {
+            LOGGER.warn("Geocoder cache saving failed", e);
+            return;
+        }
+        try {
+            Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            LOGGER.warn("Geocoder cache saving failed", e);
+        }
+    }
+
+}
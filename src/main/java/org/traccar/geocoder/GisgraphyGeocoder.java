@@ -1,5 +1,5 @@
 /*
- * Copyright 2015 - 2020 Anton Tananaev (anton@traccar.org)
+ * Copyright 2015 - 2025 Anton Tananaev (anton@traccar.org)
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -28,8 +28,8 @@ public class GisgraphyGeocoder extends JsonGeocoder {
         return url;
     }
 
-    public GisgraphyGeocoder(Client client, String url, int cacheSize, AddressFormat addressFormat) {
-        super(client, formatUrl(url), cacheSize, addressFormat);
+    public GisgraphyGeocoder(Client client, String url, AddressFormat addressFormat) {
+        super(client, formatUrl(url), addressFormat);
     }
 
     @Override
@@ -1,5 +1,5 @@
 /*
- * Copyright 2020 Anton Tananaev (anton@traccar.org)
+ * Copyright 2020 - 2025 Anton Tananaev (anton@traccar.org)
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -25,8 +25,8 @@ public class PositionStackGeocoder extends JsonGeocoder {
         return "http://api.positionstack.com/v1/reverse?access_key=" + key + "&query=%f,%f";
     }
 
-    public PositionStackGeocoder(Client client, String key, int cacheSize, AddressFormat addressFormat) {
-        super(client, formatUrl(key), cacheSize, addressFormat);
+    public PositionStackGeocoder(Client client, String key, AddressFormat addressFormat) {
+        super(client, formatUrl(key), addressFormat);
     }
 
     @Override
@@ -0,0 +1,124 @@
+/*
+ * Copyright 2025 Anton Tananaev (anton@traccar.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.traccar.geocoder;
+
+import org.traccar.config.Config;
+import org.traccar.config.Keys;
+import org.traccar.database.StatisticsManager;
+import org.traccar.helper.TokenBucket;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Limits requests sent to a geocoder provider. Concurrent asynchronous lookups for the same cache cell share one
+ * provider request. Requests over the rate or concurrency limit fail immediately instead of waiting.
+ */
+public class ThrottlingGeocoder implements Geocoder {
+
+    private final Geocoder geocoder;
+    private final int cellSize;
+    private final TokenBucket tokenBucket;
+    private final int maxConcurrent;
+
+    private final AtomicInteger concurrent = new AtomicInteger();
+    private final Map<Long, List<ReverseGeocoderCallback>> pending = new ConcurrentHashMap<>();
+
+    public ThrottlingGeocoder(Config config, Geocoder geocoder) {
+        this.geocoder = geocoder;
+        cellSize = config.getInteger(Keys.GEOCODER_CACHE_CELL_SIZE);
+        double rateLimit = config.getDouble(Keys.GEOCODER_RATE_LIMIT);
+        tokenBucket = rateLimit > 0 ? new TokenBucket(rateLimit, Math.max(rateLimit, 1)) : null;
+        maxConcurrent = config.getInteger(Keys.GEOCODER_MAX_CONCURRENT);
+    }
+
+    private boolean acquire() {
+        int count = concurrent.incrementAndGet();
+        if (maxConcurrent > 0 && count > maxConcurrent || tokenBucket != null && !tokenBucket.tryAcquire()) {
+            concurrent.decrementAndGet();
+            return false;
+        }
+        return true;
+    }
+
+    private void complete(long key, String address, Throwable error) {
+        for (ReverseGeocoderCallback callback : pending.remove(key)) {
+            if (error == null) {
+                callback.onSuccess(address);
+            } else {
+                callback.onFailure(error);
+            }
+        }
+    }
+
+    @Override
+    public String getAddress(double latitude, double longitude, ReverseGeocoderCallback callback) {
+        if (callback == null) {
+            if (!acquire()) {
+                return null;
+            }
+            try {
+                return geocoder.getAddress(latitude, longitude, null);
+            } finally {
+                concurrent.decrementAndGet();
+            }
+        }
+
+        long key = GeocoderCache.getKey(latitude, longitude, cellSize);
+        List<ReverseGeocoderCallback> created = new ArrayList<>(1);
+        List<ReverseGeocoderCallback> callbacks = pending.compute(key, (k, existing) -> {
+            List<ReverseGeocoderCallback> result = existing != null ? existing : created;
+            result.add(callback);
+            return result;
+        });
+        if (callbacks != created) {
+            return null;
+        }
+
+        if (!acquire()) {
+            complete(key, null, new GeocoderRejectedException("Geocoder request limit reached"));
+            return null;
+        }
+        try {
+            geocoder.getAddress(latitude, longitude, new ReverseGeocoderCallback() {
+                @Override
+                public void onSuccess(String address) {
+                    concurrent.decrementAndGet();
+                    complete(key, address, null);
+                }
+
+                @Override
+                public void onFailure(Throwable e) {
+                    concurrent.decrementAndGet();
+                    complete(key, null, e);
+                }
+            });
+        } catch (RuntimeException e) {
+            concurrent.decrementAndGet();
+            complete(key, null, e);
+        }
+        return null;
+    }
+
+    @Override
+    public void setStatisticsManager(StatisticsManager statisticsManager) {
+        geocoder.setStatisticsManager(statisticsManager);
+    }
+
+}
@@ -17,6 +17,7 @@ package org.traccar.geofence;
 
 import java.text.DecimalFormat;
 import java.text.ParseException;
+import java.util.List;
 
 import org.traccar.helper.DistanceCalculator;
 
@@ -31,8 +32,7 @@ public class GeofenceCircle extends GeofenceGeometry {
         centerLatitude = decoded.latitude;
         centerLongitude = decoded.longitude;
         radius = decoded.radius;
-        setMin(new Coordinate(centerLatitude - radius, centerLongitude - radius));
-        setMax(new Coordinate(centerLatitude + radius, centerLongitude + radius));
+        calculateBoundary(List.of(new Coordinate(centerLatitude, centerLongitude)), radius);
     }
 
     @Override
@@ -24,6 +24,14 @@ public abstract class GeofenceGeometry {
     private Coordinate min;
     private Coordinate max;
 
+    public Coordinate getMin() {
+        return min;
+    }
+
+    public Coordinate getMax() {
+        return max;
+    }
+
     protected void setMin(Coordinate min) {
         this.min = min;
     }
@@ -51,12 +59,18 @@ public abstract class GeofenceGeometry {
             double lonPadding = Math.max(
                     DistanceCalculator.getLongitudeDelta(padding, minLat),
                     DistanceCalculator.getLongitudeDelta(padding, maxLat));
-            setMin(new Coordinate(minLat - latPadding, minLon - lonPadding));
-            setMax(new Coordinate(maxLat + latPadding, maxLon + lonPadding));
-        } else {
-            setMin(new Coordinate(minLat, minLon));
-            setMax(new Coordinate(maxLat, maxLon));
+            minLat -= latPadding;
+            maxLat += latPadding;
+            minLon -= lonPadding;
+            maxLon += lonPadding;
+            if (minLon < -180 || maxLon > 180) {
+                // box wraps around antimeridian, cover all longitudes
+                minLon = -180;
+                maxLon = 180;
+            }
         }
+        setMin(new Coordinate(minLat, minLon));
+        setMax(new Coordinate(maxLat, maxLon));
     }
 
     public boolean containsPoint(double latitude, double longitude) {
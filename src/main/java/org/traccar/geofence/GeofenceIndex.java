@@ -0,0 +1,101 @@
+/*
+ * Copyright 2025 Anton Tananaev (anton@traccar.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.traccar.geofence;
+
+import org.traccar.model.Geofence;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Uniform grid over geofence bounding boxes. Only geofences registered in the cell of a point are tested exactly.
+ * Geofences that are too large for the grid, cross the antimeridian or have invalid geometry are always tested.
+ */
+public class GeofenceIndex {
+
+    private static final double CELL_SIZE = 0.05;
+    private static final long MAX_CELLS = 4096;
+
+    private final Map<Long, List<Geofence>> cells = new HashMap<>();
+    private final List<Geofence> unindexed = new ArrayList<>();
+
+    public GeofenceIndex(Collection<Geofence> geofences) {
+        for (Geofence geofence : geofences) {
+            GeofenceGeometry geometry;
+            try {
+                geometry = geofence.getGeometry();
+            } catch (RuntimeException e) {
+                unindexed.add(geofence);
+                continue;
+            }
+            GeofenceGeometry.Coordinate min = geometry.getMin();
+            GeofenceGeometry.Coordinate max = geometry.getMax();
+            if (min.lon() < -180 || max.lon() > 180 || max.lon() - min.lon() > 180) {
+                unindexed.add(geofence);
+                continue;
+            }
+            long minLat = getLatitudeCell(min.lat());
+            long maxLat = getLatitudeCell(max.lat());
+            long minLon = getLongitudeCell(min.lon());
+            long maxLon = getLongitudeCell(max.lon());
+            if ((maxLat - minLat + 1) * (maxLon - minLon + 1) > MAX_CELLS) {
+                unindexed.add(geofence);
+                continue;
+            }
+            for (long lat = minLat; lat <= maxLat; lat++) {
+                for (long lon = minLon; lon <= maxLon; lon++) {
+                    cells.computeIfAbsent(getKey(lat, lon), k -> new ArrayList<>()).add(geofence);
+                }
+            }
+        }
+    }
+
+    private static long getLatitudeCell(double latitude) {
+        return (long) Math.floor((Math.max(-90, Math.min(90, latitude)) + 90) / CELL_SIZE);
+    }
+
+    private static long getLongitudeCell(double longitude) {
+        return (long) Math.floor((longitude + 180) / CELL_SIZE);
+    }
+
+    private static long getKey(long latitudeCell, long longitudeCell) {
+        return latitudeCell << 32 | longitudeCell;
+    }
+
+    public List<Long> getGeofenceIds(double latitude, double longitude) {
+        List<Long> result = new ArrayList<>();
+        if (latitude >= -90 && latitude <= 90 && longitude >= -180 && longitude <= 180) {
+            var candidates = cells.get(getKey(getLatitudeCell(latitude), getLongitudeCell(longitude)));
+            if (candidates != null) {
+                for (Geofence geofence : candidates) {
+                    if (geofence.getGeometry().containsPoint(latitude, longitude)) {
+                        result.add(geofence.getId());
+                    }
+                }
+            }
+        }
+        for (Geofence geofence : unindexed) {
+            if (geofence.getGeometry().containsPoint(latitude, longitude)) {
+                result.add(geofence.getId());
+            }
+        }
+        return result;
+    }
+
+}
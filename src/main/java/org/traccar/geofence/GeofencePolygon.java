@@ -22,54 +22,94 @@ import org.locationtech.spatial4j.shape.ShapeFactory;
 import org.locationtech.spatial4j.shape.jts.JtsShapeFactory;
 
 import java.text.ParseException;
-import java.util.ArrayList;
-import java.util.List;
+import java.util.Arrays;
 
 public class GeofencePolygon extends GeofenceGeometry {
 
-    private final List<Coordinate> coordinates;
+    private static final int SLAB_MIN_EDGES = 64;
+    private static final int SLAB_EDGES = 8;
+    private static final int SLAB_MAX_COUNT = 4096;
+    private static final int SLAB_MAX_DUPLICATION = 4;
 
+    private final boolean multiPolygon;
+    private final int[] polygonOffsets;
+    private final int[] ringOffsets;
+    private final double[] latitudes;
+    private final double[] longitudes;
+
+    private final double[] edgeLow;
+    private final double[] edgeHigh;
     private final double[] constant;
     private final double[] multiple;
 
     private final boolean needNormalize;
 
-    public GeofencePolygon(String wkt) throws ParseException {
-        coordinates = fromWkt(wkt);
-        calculateBoundary(coordinates, 0);
+    private double slabStart;
+    private double slabWidth;
+    private int[] slabOffsets;
+    private int[] slabEdges;
 
-        int polyCorners = coordinates.size();
-        int i;
-        int j = polyCorners - 1;
+    public GeofencePolygon(String wkt) throws ParseException {
+        WktParser parser = new WktParser(wkt);
+        multiPolygon = parser.parse();
+        polygonOffsets = parser.polygonOffsets;
+        ringOffsets = parser.ringOffsets;
+        latitudes = parser.latitudes;
+        longitudes = parser.longitudes;
 
-        constant = new double[polyCorners];
-        multiple = new double[polyCorners];
+        int count = latitudes.length;
 
         boolean hasNegative = false;
         boolean hasPositive = false;
-        for (i = 0; i < polyCorners; i++) {
-            if (coordinates.get(i).lon() > 90) {
+        double minLat = Double.POSITIVE_INFINITY;
+        double minLon = Double.POSITIVE_INFINITY;
+        double maxLat = Double.NEGATIVE_INFINITY;
+        double maxLon = Double.NEGATIVE_INFINITY;
+        for (int i = 0; i < count; i++) {
+            if (longitudes[i] > 90) {
                 hasPositive = true;
-            } else if (coordinates.get(i).lon() < -90) {
+            } else if (longitudes[i] < -90) {
                 hasNegative = true;
             }
+            minLat = Math.min(minLat, latitudes[i]);
+            minLon = Math.min(minLon, longitudes[i]);
+            maxLat = Math.max(maxLat, latitudes[i]);
+            maxLon = Math.max(maxLon, longitudes[i]);
         }
         needNormalize = hasPositive && hasNegative;
+        setMin(new Coordinate(minLat, minLon));
+        setMax(new Coordinate(maxLat, maxLon));
 
-        for (i = 0; i < polyCorners; j = i++) {
-            if (normalizeLon(coordinates.get(j).lon()) == normalizeLon(coordinates.get(i).lon())) {
-                constant[i] = coordinates.get(i).lon();
-                multiple[i] = 0;
-            } else {
-                constant[i] = coordinates.get(i).lat()
-                        - (normalizeLon(coordinates.get(i).lon()) * coordinates.get(j).lat())
-                        / (normalizeLon(coordinates.get(j).lon()) - normalizeLon(coordinates.get(i).lon()))
-                        + (normalizeLon(coordinates.get(i).lon()) * coordinates.get(i).lat())
-                        / (normalizeLon(coordinates.get(j).lon()) - normalizeLon(coordinates.get(i).lon()));
-                multiple[i] = (coordinates.get(j).lat() - coordinates.get(i).lat())
-                        / (normalizeLon(coordinates.get(j).lon()) - normalizeLon(coordinates.get(i).lon()));
+        double[] normalized = new double[count];
+        for (int i = 0; i < count; i++) {
+            normalized[i] = normalizeLon(longitudes[i]);
+        }
+
+        edgeLow = new double[count];
+        edgeHigh = new double[count];
+        constant = new double[count];
+        multiple = new double[count];
+
+        for (int ring = 0; ring < ringOffsets.length - 1; ring++) {
+            int end = ringOffsets[ring + 1];
+            for (int i = ringOffsets[ring], j = end - 1; i < end; j = i++) {
+                double lonI = normalized[i];
+                double lonJ = normalized[j];
+                edgeLow[i] = Math.min(lonI, lonJ);
+                edgeHigh[i] = Math.max(lonI, lonJ);
+                if (lonJ == lonI) {
+                    constant[i] = longitudes[i];
+                    multiple[i] = 0;
+                } else {
+                    constant[i] = latitudes[i]
+                            - (lonI * latitudes[j]) / (lonJ - lonI)
+                            + (lonI * latitudes[i]) / (lonJ - lonI);
+                    multiple[i] = (latitudes[j] - latitudes[i]) / (lonJ - lonI);
+                }
             }
         }
+
+        buildSlabs();
     }
 
     private double normalizeLon(double lon) {
@@ -79,21 +119,84 @@ public class GeofencePolygon extends GeofenceGeometry {
         return lon;
     }
 
+    private void buildSlabs() {
+        int edgeCount = edgeLow.length;
+        if (edgeCount < SLAB_MIN_EDGES) {
+            return;
+        }
+        double start = Double.POSITIVE_INFINITY;
+        double end = Double.NEGATIVE_INFINITY;
+        for (int i = 0; i < edgeCount; i++) {
+            start = Math.min(start, edgeLow[i]);
+            end = Math.max(end, edgeHigh[i]);
+        }
+        if (!(end > start)) {
+            return;
+        }
+        slabStart = start;
+
+        int count = Math.min(SLAB_MAX_COUNT, edgeCount / SLAB_EDGES);
+        while (count > 1) {
+            slabWidth = (end - start) / count;
+            long total = 0;
+            for (int i = 0; i < edgeCount; i++) {
+                total += slabIndex(edgeHigh[i], count) - slabIndex(edgeLow[i], count) + 1;
+            }
+            if (total <= (long) edgeCount * SLAB_MAX_DUPLICATION) {
+                break;
+            }
+            count /= 2;
+        }
+        if (count <= 1) {
+            return;
+        }
+
+        int[] offsets = new int[count + 1];
+        for (int i = 0; i < edgeCount; i++) {
+            int last = slabIndex(edgeHigh[i], count);
+            for (int slab = slabIndex(edgeLow[i], count); slab <= last; slab++) {
+                offsets[slab + 1] += 1;
+            }
+        }
+        for (int slab = 0; slab < count; slab++) {
+            offsets[slab + 1] += offsets[slab];
+        }
+        int[] edges = new int[offsets[count]];
+        int[] positions = Arrays.copyOf(offsets, count);
+        for (int i = 0; i < edgeCount; i++) {
+            int last = slabIndex(edgeHigh[i], count);
+            for (int slab = slabIndex(edgeLow[i], count); slab <= last; slab++) {
+                edges[positions[slab]++] = i;
+            }
+        }
+        slabOffsets = offsets;
+        slabEdges = edges;
+    }
+
+    private int slabIndex(double lon, int count) {
+        int index = (int) ((lon - slabStart) / slabWidth);
+        return Math.max(0, Math.min(count - 1, index));
+    }
+
     @Override
     protected boolean containsPointInternal(double latitude, double longitude) {
 
-        int polyCorners = coordinates.size();
-        int i;
-        int j = polyCorners - 1;
         double longitudeNorm = normalizeLon(longitude);
         boolean oddNodes = false;
 
-        for (i = 0; i < polyCorners; j = i++) {
-            if (normalizeLon(coordinates.get(i).lon()) < longitudeNorm
-                    && normalizeLon(coordinates.get(j).lon()) >= longitudeNorm
-                    || normalizeLon(coordinates.get(j).lon()) < longitudeNorm
-                    && normalizeLon(coordinates.get(i).lon()) >= longitudeNorm) {
-                oddNodes ^= longitudeNorm * multiple[i] + constant[i] < latitude;
+        if (slabOffsets == null) {
+            for (int i = 0; i < edgeLow.length; i++) {
+                if (edgeLow[i] < longitudeNorm && edgeHigh[i] >= longitudeNorm) {
+                    oddNodes ^= longitudeNorm * multiple[i] + constant[i] < latitude;
+                }
+            }
+        } else {
+            int slab = slabIndex(longitudeNorm, slabOffsets.length - 1);
+            for (int k = slabOffsets[slab]; k < slabOffsets[slab + 1]; k++) {
+                int i = slabEdges[k];
+                if (edgeLow[i] < longitudeNorm && edgeHigh[i] >= longitudeNorm) {
+                    oddNodes ^= longitudeNorm * multiple[i] + constant[i] < latitude;
+                }
             }
         }
         return oddNodes;
@@ -101,10 +204,21 @@ public class GeofencePolygon extends GeofenceGeometry {
 
     @Override
     public double calculateArea() {
+        double area = 0;
+        for (int polygon = 0; polygon < polygonOffsets.length - 1; polygon++) {
+            for (int ring = polygonOffsets[polygon]; ring < polygonOffsets[polygon + 1]; ring++) {
+                double ringArea = calculateRingArea(ring);
+                area += ring == polygonOffsets[polygon] ? ringArea : -ringArea;
+            }
+        }
+        return area;
+    }
+
+    private double calculateRingArea(int ring) {
         JtsShapeFactory jtsShapeFactory = new JtsSpatialContextFactory().newSpatialContext().getShapeFactory();
         ShapeFactory.PolygonBuilder polygonBuilder = jtsShapeFactory.polygon();
-        for (Coordinate coordinate : coordinates) {
-            polygonBuilder.pointXY(coordinate.lon(), coordinate.lat());
+        for (int i = ringOffsets[ring]; i < ringOffsets[ring + 1]; i++) {
+            polygonBuilder.pointXY(longitudes[i], latitudes[i]);
         }
         return polygonBuilder.build().getArea(SpatialContext.GEO) * DistanceUtils.DEG_TO_KM * DistanceUtils.DEG_TO_KM;
     }
@@ -112,52 +226,196 @@ public class GeofencePolygon extends GeofenceGeometry {
     @Override
     public String toWkt() {
         StringBuilder buf = new StringBuilder();
-        buf.append("POLYGON ((");
-        for (Coordinate coordinate : coordinates) {
-            buf.append(coordinate.lat());
-            buf.append(" ");
-            buf.append(coordinate.lon());
-            buf.append(", ");
-        }
-        return buf.substring(0, buf.length() - 2) + "))";
+        buf.append(multiPolygon ? "MULTIPOLYGON (" : "POLYGON ");
+        for (int polygon = 0; polygon < polygonOffsets.length - 1; polygon++) {
+            if (polygon > 0) {
+                buf.append(", ");
+            }
+            buf.append("(");
+            for (int ring = polygonOffsets[polygon]; ring < polygonOffsets[polygon + 1]; ring++) {
+                if (ring > polygonOffsets[polygon]) {
+                    buf.append(", ");
+                }
+                buf.append("(");
+                for (int i = ringOffsets[ring]; i < ringOffsets[ring + 1]; i++) {
+                    if (i > ringOffsets[ring]) {
+                        buf.append(", ");
+                    }
+                    buf.append(latitudes[i]);
+                    buf.append(" ");
+                    buf.append(longitudes[i]);
+                }
+                buf.append(")");
+            }
+            buf.append(")");
+        }
+        if (multiPolygon) {
+            buf.append(")");
+        }
+        return buf.toString();
     }
 
-    public List<Coordinate> fromWkt(String wkt) throws ParseException {
-        List<Coordinate> coordinates = new ArrayList<>();
+    private static final class WktParser {
 
-        if (!wkt.startsWith("POLYGON")) {
-            throw new ParseException("Mismatch geometry type", 0);
+        private final String wkt;
+        private int index;
+
+        private int vertexCount;
+        private double[] latitudes = new double[16];
+        private double[] longitudes = new double[16];
+        private int ringCount;
+        private int[] ringOffsets = new int[4];
+        private int polygonCount;
+        private int[] polygonOffsets = new int[4];
+
+        WktParser(String wkt) {
+            this.wkt = wkt;
         }
-        String content = wkt.substring(wkt.indexOf("((") + 2, wkt.indexOf("))"));
-        if (content.isEmpty()) {
-            throw new ParseException("No content", 0);
+
+        private boolean parse() throws ParseException {
+            boolean multi;
+            if (wkt.startsWith("MULTIPOLYGON")) {
+                multi = true;
+                index = "MULTIPOLYGON".length();
+            } else if (wkt.startsWith("POLYGON")) {
+                multi = false;
+                index = "POLYGON".length();
+            } else {
+                throw new ParseException("Mismatch geometry type", 0);
+            }
+
+            if (multi) {
+                expect('(');
+                char next;
+                do {
+                    readPolygon();
+                    next = next();
+                } while (next == ',');
+                if (next != ')') {
+                    throw new ParseException("Not valid content", index);
+                }
+            } else {
+                readPolygon();
+            }
+
+            ringOffsets = append(ringOffsets, ringCount, vertexCount);
+            polygonOffsets = append(polygonOffsets, polygonCount, ringCount);
+            ringOffsets = Arrays.copyOf(ringOffsets, ringCount + 1);
+            polygonOffsets = Arrays.copyOf(polygonOffsets, polygonCount + 1);
+            latitudes = Arrays.copyOf(latitudes, vertexCount);
+            longitudes = Arrays.copyOf(longitudes, vertexCount);
+            return multi;
         }
-        String[] commaTokens = content.split(",");
-        if (commaTokens.length < 3) {
-            throw new ParseException("Not valid content", 0);
+
+        private void readPolygon() throws ParseException {
+            polygonOffsets = append(polygonOffsets, polygonCount++, ringCount);
+            expect('(');
+            char next;
+            do {
+                readRing();
+                next = next();
+            } while (next == ',');
+            if (next != ')') {
+                throw new ParseException("Not valid content", index);
+            }
+        }
+
+        private void readRing() throws ParseException {
+            ringOffsets = append(ringOffsets, ringCount++, vertexCount);
+            int start = vertexCount;
+            expect('(');
+            if (peek() == ')') {
+                throw new ParseException("No content", index);
+            }
+            char next;
+            do {
+                readPoint();
+                next = next();
+            } while (next == ',');
+            if (next != ')') {
+                throw new ParseException("Not valid content", index);
+            }
+            if (vertexCount - start < 3) {
+                throw new ParseException("Not valid content", index);
+            }
         }
 
-        for (String commaToken : commaTokens) {
-            String[] tokens = commaToken.trim().split("\\s");
-            if (tokens.length != 2) {
-                throw new ParseException("Here must be two coordinates: " + commaToken, 0);
+        private void readPoint() throws ParseException {
+            int start = index;
+            String latToken = readToken();
+            String lonToken = readToken();
+            char next = peek();
+            if (latToken.isEmpty() || lonToken.isEmpty() || next != ',' && next != ')') {
+                throw new ParseException("Here must be two coordinates: " + wkt.substring(start, index).trim(), 0);
             }
             double lat;
             try {
-                lat = Double.parseDouble(tokens[0]);
+                lat = Double.parseDouble(latToken);
             } catch (NumberFormatException e) {
-                throw new ParseException(tokens[0] + " is not a double", 0);
+                throw new ParseException(latToken + " is not a double", 0);
             }
             double lon;
             try {
-                lon = Double.parseDouble(tokens[1]);
+                lon = Double.parseDouble(lonToken);
             } catch (NumberFormatException e) {
-                throw new ParseException(tokens[1] + " is not a double", 0);
+                throw new ParseException(lonToken + " is not a double", 0);
+            }
+            if (vertexCount == latitudes.length) {
+                latitudes = Arrays.copyOf(latitudes, vertexCount * 2);
+                longitudes = Arrays.copyOf(longitudes, vertexCount * 2);
+            }
+            latitudes[vertexCount] = lat;
+            longitudes[vertexCount] = lon;
+            vertexCount += 1;
+        }
+
+        private String readToken() {
+            skipWhitespace();
+            int start = index;
+            while (index < wkt.length()) {
+                char c = wkt.charAt(index);
+                if (Character.isWhitespace(c) || c == ',' || c == '(' || c == ')') {
+                    break;
+                }
+                index += 1;
+            }
+            return wkt.substring(start, index);
+        }
+
+        private void skipWhitespace() {
+            while (index < wkt.length() && Character.isWhitespace(wkt.charAt(index))) {
+                index += 1;
+            }
+        }
+
+        private char peek() {
+            skipWhitespace();
+            return index < wkt.length() ? wkt.charAt(index) : 0;
+        }
+
+        private char next() throws ParseException {
+            char next = peek();
+            if (next == 0) {
+                throw new ParseException("Not valid content", index);
+            }
+            index += 1;
+            return next;
+        }
+
+        private void expect(char expected) throws ParseException {
+            if (next() != expected) {
+                throw new ParseException("Not valid content", index);
+            }
+        }
+
+        private static int[] append(int[] array, int index, int value) {
+            if (index == array.length) {
+                array = Arrays.copyOf(array, index * 2);
             }
-            coordinates.add(new Coordinate(lat, lon));
+            array[index] = value;
+            return array;
         }
 
-        return coordinates;
     }
 
 }
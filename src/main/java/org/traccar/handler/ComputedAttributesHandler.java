@@ -17,23 +17,30 @@
 package org.traccar.handler;
 
 import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
 import org.apache.commons.jexl3.JexlBuilder;
+import org.apache.commons.jexl3.JexlContext;
 import org.apache.commons.jexl3.JexlEngine;
 import org.apache.commons.jexl3.JexlException;
 import org.apache.commons.jexl3.JexlFeatures;
-import org.apache.commons.jexl3.MapContext;
+import org.apache.commons.jexl3.JexlScript;
 import org.apache.commons.jexl3.introspection.JexlSandbox;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.traccar.broadcast.BroadcastInterface;
 import org.traccar.config.Config;
 import org.traccar.config.Keys;
 import org.traccar.helper.ReflectionCache;
 import org.traccar.model.Attribute;
+import org.traccar.model.BaseModel;
 import org.traccar.model.Device;
+import org.traccar.model.ObjectOperation;
 import org.traccar.model.Position;
 import org.traccar.session.cache.CacheManager;
 
-import java.lang.reflect.InvocationTargetException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Method;
 import java.util.Collections;
 import java.util.Comparator;
@@ -42,11 +49,59 @@ import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Date;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 
-public class ComputedAttributesHandler extends BasePositionHandler {
+public class ComputedAttributesHandler extends BasePositionHandler implements BroadcastInterface {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(ComputedAttributesHandler.class);
 
+    private static final Object MISSING = new Object();
+
+    private record PropertyAccessor(int order, MethodHandle handle) {
+        Object get(Position position) {
+            try {
+                return (Object) handle.invokeExact(position);
+            } catch (Throwable error) {
+                LOGGER.warn("Attribute reflection error", error);
+                return null;
+            }
+        }
+    }
+
+    private static final Map<String, PropertyAccessor> ACCESSORS = new HashMap<>();
+    private static final Map<String, PropertyAccessor> LAST_ACCESSORS = new HashMap<>();
+    private static final int ATTRIBUTES_ORDER;
+
+    static {
+        int order = 0;
+        int attributesOrder = 0;
+        MethodType type = MethodType.methodType(Object.class, Position.class);
+        for (var property : ReflectionCache.getProperties(Position.class, "get").values()) {
+            Method method = property.method();
+            if (method.getReturnType().equals(Map.class)) {
+                attributesOrder = order;
+            } else {
+                String name = Character.toLowerCase(method.getName().charAt(3)) + method.getName().substring(4);
+                try {
+                    MethodHandle handle = MethodHandles.publicLookup().unreflect(method).asType(type);
+                    var accessor = new PropertyAccessor(order, handle);
+                    ACCESSORS.put(name, accessor);
+                    LAST_ACCESSORS.put(prefixAttribute("last", name), accessor);
+                } catch (IllegalAccessException error) {
+                    LOGGER.warn("Attribute reflection error", error);
+                }
+            }
+            order += 1;
+        }
+        ATTRIBUTES_ORDER = attributesOrder;
+    }
+
+    private record CompiledScript(String expression, JexlScript script) {
+    }
+
+    private final Map<Long, CompiledScript> scripts = new ConcurrentHashMap<>();
+
     private final CacheManager cacheManager;
     private final boolean early;
 
@@ -57,6 +112,7 @@ public class ComputedAttributesHandler extends BasePositionHandler {
     private final boolean includeDeviceAttributes;
     private final boolean includeLastAttributes;
 
+    @Singleton
     public static class Early extends ComputedAttributesHandler {
         @Inject
         public Early(Config config, CacheManager cacheManager) {
@@ -64,6 +120,7 @@ public class ComputedAttributesHandler extends BasePositionHandler {
         }
     }
 
+    @Singleton
     public static class Late extends ComputedAttributesHandler {
         @Inject
         public Late(Config config, CacheManager cacheManager) {
@@ -94,64 +151,140 @@ public class ComputedAttributesHandler extends BasePositionHandler {
                 .create();
         includeDeviceAttributes = config.getBoolean(Keys.PROCESSING_COMPUTED_ATTRIBUTES_DEVICE_ATTRIBUTES);
         includeLastAttributes = config.getBoolean(Keys.PROCESSING_COMPUTED_ATTRIBUTES_LAST_ATTRIBUTES);
+        if (cacheManager != null) {
+            cacheManager.registerListener(this);
+        }
+    }
+
+    @Override
+    public <T extends BaseModel> void invalidateObject(
+            boolean local, Class<T> clazz, long id, ObjectOperation operation) {
+        if (clazz.equals(Attribute.class)) {
+            scripts.remove(id);
+        }
+    }
+
+    private JexlScript createScript(String expression) {
+        return engine.createScript(features, engine.createInfo(), expression);
+    }
+
+    private JexlScript getScript(Attribute attribute) {
+        CompiledScript compiled = scripts.get(attribute.getId());
+        if (compiled == null || !Objects.equals(compiled.expression(), attribute.getExpression())) {
+            compiled = new CompiledScript(attribute.getExpression(), createScript(attribute.getExpression()));
+            scripts.put(attribute.getId(), compiled);
+        }
+        return compiled.script();
     }
 
-    private MapContext prepareContext(Position position) {
-        MapContext result = new MapContext();
+    private JexlContext prepareContext(Position position) {
+        Map<String, Object> deviceAttributes = null;
         if (includeDeviceAttributes) {
             Device device = cacheManager.getObject(Device.class, position.getDeviceId());
             if (device != null) {
-                for (String key : device.getAttributes().keySet()) {
-                    result.set(key, device.getAttributes().get(key));
-                }
+                deviceAttributes = device.getAttributes();
             }
         }
         Position last = includeLastAttributes ? cacheManager.getPosition(position.getDeviceId()) : null;
-        ReflectionCache.getProperties(Position.class, "get").forEach((key, value) -> {
-            Method method = value.method();
-            String name = Character.toLowerCase(method.getName().charAt(3)) + method.getName().substring(4);
-            try {
-                if (!method.getReturnType().equals(Map.class)) {
-                    result.set(name, method.invoke(position));
-                    if (last != null) {
-                        result.set(prefixAttribute("last", name), method.invoke(last));
-                    }
-                } else {
-                    for (Map.Entry<?, ?> entry : ((Map<?, ?>) method.invoke(position)).entrySet()) {
-                        result.set((String) entry.getKey(), entry.getValue());
-                    }
-                    if (last != null) {
-                        for (Map.Entry<?, ?> entry : ((Map<?, ?>) method.invoke(last)).entrySet()) {
-                            result.set(prefixAttribute("last", (String) entry.getKey()), entry.getValue());
-                        }
-                    }
-                }
-            } catch (IllegalAccessException | InvocationTargetException error) {
-                LOGGER.warn("Attribute reflection error", error);
-            }
-        });
-        return result;
+        return new PositionContext(position, last, deviceAttributes);
     }
 
-    private String prefixAttribute(String prefix, String key) {
+    private static String prefixAttribute(String prefix, String key) {
         return prefix + Character.toUpperCase(key.charAt(0)) + key.substring(1);
     }
 
+    /**
+     * Resolves variables on demand with the same precedence as copying everything upfront would give: device
+     * attributes first, then position properties and attributes in property order. Assignments stay local.
+     */
+    private static final class PositionContext implements JexlContext {
+
+        private final Position position;
+        private final Position last;
+        private final Map<String, Object> deviceAttributes;
+
+        private Map<String, Object> lastAttributes;
+        private Map<String, Object> variables;
+
+        private PositionContext(Position position, Position last, Map<String, Object> deviceAttributes) {
+            this.position = position;
+            this.last = last;
+            this.deviceAttributes = deviceAttributes;
+        }
+
+        private Map<String, Object> getLastAttributes() {
+            if (lastAttributes == null) {
+                lastAttributes = new HashMap<>();
+                for (Map.Entry<String, Object> entry : last.getAttributes().entrySet()) {
+                    lastAttributes.put(prefixAttribute("last", entry.getKey()), entry.getValue());
+                }
+            }
+            return lastAttributes;
+        }
+
+        private Object resolve(String name) {
+            Object value = MISSING;
+            int order = -1;
+            if (deviceAttributes != null && deviceAttributes.containsKey(name)) {
+                value = deviceAttributes.get(name);
+            }
+            PropertyAccessor accessor = ACCESSORS.get(name);
+            if (accessor != null) {
+                order = accessor.order();
+                value = accessor.get(position);
+            }
+            if (last != null) {
+                accessor = LAST_ACCESSORS.get(name);
+                if (accessor != null && accessor.order() > order) {
+                    order = accessor.order();
+                    value = accessor.get(last);
+                }
+            }
+            if (ATTRIBUTES_ORDER > order) {
+                if (last != null && getLastAttributes().containsKey(name)) {
+                    value = getLastAttributes().get(name);
+                } else if (position.getAttributes().containsKey(name)) {
+                    value = position.getAttributes().get(name);
+                }
+            }
+            return value;
+        }
+
+        @Override
+        public Object get(String name) {
+            if (variables != null && variables.containsKey(name)) {
+                return variables.get(name);
+            }
+            Object value = resolve(name);
+            return value != MISSING ? value : null;
+        }
+
+        @Override
+        public void set(String name, Object value) {
+            if (variables == null) {
+                variables = new HashMap<>();
+            }
+            variables.put(name, value);
+        }
+
+        @Override
+        public boolean has(String name) {
+            return variables != null && variables.containsKey(name) || resolve(name) != MISSING;
+        }
+
+    }
+
     /**
      * @deprecated logic needs to be extracted to be used in API resource
      */
     @Deprecated
     public Object computeAttribute(Attribute attribute, Position position) throws JexlException {
-        return engine
-                .createScript(features, engine.createInfo(), attribute.getExpression())
-                .execute(prepareContext(position));
+        return getScript(attribute).execute(prepareContext(position));
     }
 
     // 添加新的公共方法供API资源使用
     public Object computeAttributeValue(Attribute attribute, Position position) throws JexlException {
-        return engine
-                .createScript(features, engine.createInfo(), attribute.getExpression())
-                .execute(prepareContext(position));
+        return createScript(attribute.getExpression()).execute(prepareContext(position));
     }
 
     @Override
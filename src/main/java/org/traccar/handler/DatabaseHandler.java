@@ -1,5 +1,5 @@
 /*
- * Copyright 2015 - 2024 Anton Tananaev (anton@traccar.org)
+ * Copyright 2015 - 2025 Anton Tananaev (anton@traccar.org)
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -15,30 +15,102 @@
  */
 package org.traccar.handler;
 
+import jakarta.annotation.Nullable;
 import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.traccar.LifecycleObject;
+import org.traccar.config.Config;
+import org.traccar.config.Keys;
 import org.traccar.database.StatisticsManager;
 import org.traccar.model.Position;
+import org.traccar.session.cache.RecentPositionCache;
 import org.traccar.storage.Storage;
 import org.traccar.storage.query.Columns;
 import org.traccar.storage.query.Request;
 
-public class DatabaseHandler extends BasePositionHandler {
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+@Singleton
+public class DatabaseHandler extends BasePositionHandler implements LifecycleObject {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(DatabaseHandler.class);
 
+    private static final int WRITER_QUEUE_CAPACITY = 16;
+    private static final long STOP_TIMEOUT = TimeUnit.SECONDS.toMillis(30);
+
+    private record PendingPosition(Position position, Callback callback) {
+    }
+
     private final Storage storage;
     private final StatisticsManager statisticsManager;
+    private final RecentPositionCache recentPositionCache;
+    private final int batchSize;
+    private final long batchDelay;
+
+    /**
+     * Full batches waiting for the writer thread. When the writer falls behind, producers block on this queue instead
+     * of running database inserts on network or timer threads.
+     */
+    private final BlockingQueue<List<PendingPosition>> batches = new ArrayBlockingQueue<>(WRITER_QUEUE_CAPACITY);
+
+    private List<PendingPosition> pending = new ArrayList<>();
+    private long pendingDeadline;
+
+    private volatile boolean stopping;
+    private Thread writerThread;
 
     @Inject
-    public DatabaseHandler(Storage storage, StatisticsManager statisticsManager) {
+    public DatabaseHandler(
+            Config config, Storage storage, StatisticsManager statisticsManager,
+            @Nullable RecentPositionCache recentPositionCache) {
         this.storage = storage;
         this.statisticsManager = statisticsManager;
+        this.recentPositionCache = recentPositionCache;
+        batchSize = config.getInteger(Keys.DATABASE_BATCH_SIZE);
+        batchDelay = config.getLong(Keys.DATABASE_BATCH_DELAY);
+    }
+
+    @Override
+    public void start() {
+        if (batchSize > 1) {
+            stopping = false;
+            writerThread = new Thread(this::runWriter, "database-writer");
+            writerThread.setDaemon(true);
+            writerThread.start();
+        }
+    }
+
+    @Override
+    public void stop() throws InterruptedException {
+        if (writerThread != null) {
+            stopping = true;
+            batches.offer(List.of());
+            writerThread.join(STOP_TIMEOUT);
+            if (writerThread.isAlive()) {
+                LOGGER.warn("Timed out waiting for position batches to be stored");
+            } else {
+                drain();
+            }
+            writerThread = null;
+        }
     }
 
     @Override
     public void onPosition(Position position, Callback callback) {
+        if (recentPositionCache != null) {
+            recentPositionCache.add(position);
+        }
+
+        if (batchSize > 1) {
+            enqueue(new PendingPosition(position, callback));
+            return;
+        }
 
         try {
             position.setId(storage.addObject(position, new Request(new Columns.Exclude("id"))));
@@ -50,4 +122,94 @@ public class DatabaseHandler extends BasePositionHandler {
         callback.processed(false);
     }
 
+    private void enqueue(PendingPosition pendingPosition) {
+        List<PendingPosition> batch = null;
+        synchronized (this) {
+            if (pending.isEmpty()) {
+                pendingDeadline = System.currentTimeMillis() + batchDelay;
+            }
+            pending.add(pendingPosition);
+            if (pending.size() >= batchSize) {
+                batch = pending;
+                pending = new ArrayList<>();
+            }
+        }
+        if (batch != null) {
+            try {
+                batches.put(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                writeBatch(batch);
+            }
+        }
+    }
+
+    private synchronized List<PendingPosition> takePending(boolean force) {
+        if (pending.isEmpty() || !force && System.currentTimeMillis() < pendingDeadline) {
+            return null;
+        }
+        List<PendingPosition> batch = pending;
+        pending = new ArrayList<>();
+        return batch;
+    }
+
+    private synchronized long getPendingDelay() {
+        return pending.isEmpty() ? batchDelay : pendingDeadline - System.currentTimeMillis();
+    }
+
+    private void runWriter() {
+        try {
+            while (!stopping) {
+                long delay = getPendingDelay();
+                List<PendingPosition> batch = delay > 0 ? batches.poll(delay, TimeUnit.MILLISECONDS) : null;
+                if (batch == null) {
+                    batch = takePending(false);
+                }
+                if (batch != null) {
+                    writeBatch(batch);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        drain();
+    }
+
+    private void drain() {
+        List<PendingPosition> batch;
+        while ((batch = batches.poll()) != null) {
+            writeBatch(batch);
+        }
+        batch = takePending(true);
+        if (batch != null) {
+            writeBatch(batch);
+        }
+    }
+
+    private void writeBatch(List<PendingPosition> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            List<Position> positions = batch.stream().map(PendingPosition::position).toList();
+            List<Long> ids = storage.addObjects(positions, new Request(new Columns.Exclude("id")));
+            if (ids.size() != positions.size()) {
+                LOGGER.warn("Stored {} positions, but received {} generated keys", positions.size(), ids.size());
+            }
+            for (int i = 0; i < positions.size(); i++) {
+                Position position = positions.get(i);
+                if (i < ids.size()) {
+                    position.setId(ids.get(i));
+                }
+                statisticsManager.registerMessageStored(position.getDeviceId(), position.getProtocol());
+            }
+        } catch (Exception error) {
+            LOGGER.warn("Failed to store positions", error);
+        }
+
+        for (PendingPosition pendingPosition : batch) {
+            pendingPosition.callback().processed(false);
+        }
+    }
+
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright 2014 - 2024 Anton Tananaev (anton@traccar.org)
+ * Copyright 2014 - 2025 Anton Tananaev (anton@traccar.org)
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -15,6 +15,7 @@
  */
 package org.traccar.handler;
 
+import jakarta.annotation.Nullable;
 import jakarta.inject.Inject;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -27,6 +28,7 @@ import org.traccar.model.Calendar;
 import org.traccar.model.Device;
 import org.traccar.model.Position;
 import org.traccar.session.cache.CacheManager;
+import org.traccar.session.cache.RecentPositionCache;
 import org.traccar.storage.Storage;
 import org.traccar.storage.StorageException;
 import org.traccar.storage.query.Columns;
@@ -61,10 +63,12 @@ public class FilterHandler extends BasePositionHandler {
     private final CacheManager cacheManager;
     private final Storage storage;
     private final StatisticsManager statisticsManager;
+    private final RecentPositionCache recentPositionCache;
 
     @Inject
     public FilterHandler(
-            Config config, CacheManager cacheManager, Storage storage, StatisticsManager statisticsManager) {
+            Config config, CacheManager cacheManager, Storage storage, StatisticsManager statisticsManager,
+            @Nullable RecentPositionCache recentPositionCache) {
         filterInvalid = config.getBoolean(Keys.FILTER_INVALID);
         filterZero = config.getBoolean(Keys.FILTER_ZERO);
         filterDuplicate = config.getBoolean(Keys.FILTER_DUPLICATE);
@@ -85,9 +89,13 @@ public class FilterHandler extends BasePositionHandler {
         this.cacheManager = cacheManager;
         this.storage = storage;
         this.statisticsManager = statisticsManager;
+        this.recentPositionCache = recentPositionCache;
     }
 
     private Position getPrecedingPosition(long deviceId, Date date) throws StorageException {
+        if (recentPositionCache != null) {
+            return recentPositionCache.getPreceding(deviceId, date);
+        }
         return storage.getObject(Position.class, new Request(
                 new Columns.All(),
                 new Condition.And(
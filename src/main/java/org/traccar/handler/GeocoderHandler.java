@@ -20,6 +20,7 @@ import org.slf4j.LoggerFactory;
 import org.traccar.config.Config;
 import org.traccar.config.Keys;
 import org.traccar.geocoder.Geocoder;
+import org.traccar.geocoder.GeocoderRejectedException;
 import org.traccar.model.Position;
 import org.traccar.session.cache.CacheManager;
 
@@ -62,7 +63,11 @@ public class GeocoderHandler extends BasePositionHandler {
 
                 @Override
                 public void onFailure(Throwable e) {
-                    LOGGER.warn("Geocoding failed", e);
+                    if (e instanceof GeocoderRejectedException) {
+                        LOGGER.debug("Geocoding skipped: {}", e.getMessage());
+                    } else {
+                        LOGGER.warn("Geocoding failed", e);
+                    }
                     callback.processed(false);
                 }
             });
@@ -1,5 +1,5 @@
 /*
- * Copyright 2015 - 2024 Anton Tananaev (anton@traccar.org)
+ * Copyright 2015 - 2025 Anton Tananaev (anton@traccar.org)
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -15,6 +15,7 @@
  */
 package org.traccar.handler;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.netty.util.Timeout;
 import io.netty.util.Timer;
 import io.netty.util.TimerTask;
@@ -24,24 +25,51 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.traccar.config.Config;
 import org.traccar.config.Keys;
+import org.traccar.database.MetricsManager;
 import org.traccar.forward.PositionData;
 import org.traccar.forward.PositionForwarder;
+import org.traccar.forward.PositionSpool;
 import org.traccar.forward.ResultHandler;
 import org.traccar.model.Device;
 import org.traccar.model.Position;
 import org.traccar.session.cache.CacheManager;
 
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 
 public class PositionForwardingHandler extends BasePositionHandler {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(PositionForwardingHandler.class);
 
+    private static final long MAX_REPLAY_DELAY = 60000;
+    static final int MAX_IN_FLIGHT = 8;
+
     private final CacheManager cacheManager;
     private final Timer timer;
+    private final ExecutorService executorService;
+    private final ObjectMapper objectMapper;
 
     private final PositionForwarder positionForwarder;
+    private final PositionSpool positionSpool;
+    private final int spoolWindow;
+    private final AtomicBoolean replaying = new AtomicBoolean();
+
+    /**
+     * Number of live sends in flight per device. Only used with spool. When a device reaches the limit, or the spool
+     * is not empty, new positions are spooled instead of waiting in memory, so they are replayed after the earlier
+     * ones. A late failure can only be overtaken by positions already in flight for the same device.
+     */
+    private final Map<Long, Integer> deviceSends = new ConcurrentHashMap<>();
 
     private final boolean retryEnabled;
     private final int retryDelay;
@@ -52,11 +80,17 @@ public class PositionForwardingHandler extends BasePositionHandler {
 
     @Inject
     public PositionForwardingHandler(
-            Config config, CacheManager cacheManager, Timer timer, @Nullable PositionForwarder positionForwarder) {
+            Config config, CacheManager cacheManager, Timer timer, ExecutorService executorService,
+            ObjectMapper objectMapper, @Nullable PositionForwarder positionForwarder,
+            @Nullable PositionSpool positionSpool, MetricsManager metricsManager) {
 
         this.cacheManager = cacheManager;
         this.timer = timer;
+        this.executorService = executorService;
+        this.objectMapper = objectMapper;
         this.positionForwarder = positionForwarder;
+        this.positionSpool = positionSpool;
+        this.spoolWindow = Math.max(config.getInteger(Keys.FORWARD_SPOOL_WINDOW), 1);
 
         this.retryEnabled = config.getBoolean(Keys.FORWARD_RETRY_ENABLE);
         this.retryDelay = config.getInteger(Keys.FORWARD_RETRY_DELAY);
@@ -64,16 +98,29 @@ public class PositionForwardingHandler extends BasePositionHandler {
         this.retryLimit = config.getInteger(Keys.FORWARD_RETRY_LIMIT);
 
         this.deliveryPending = new AtomicInteger();
+        metricsManager.gauge(
+                "traccar_forward_pending", "Positions waiting for forwarding delivery or retry", deliveryPending::get);
+
+        if (positionSpool != null) {
+            metricsManager.gauge(
+                    "traccar_forward_spool_bytes", "Bytes of positions waiting in forwarding spool",
+                    positionSpool::size);
+            if (positionForwarder != null && !positionSpool.isEmpty()) {
+                startReplay();
+            }
+        }
     }
 
     class AsyncRequestAndCallback implements ResultHandler, TimerTask {
 
         private final PositionData positionData;
+        private final long deviceId;
 
         private int retries = 0;
 
         AsyncRequestAndCallback(PositionData positionData) {
             this.positionData = positionData;
+            this.deviceId = positionData.getPosition().getDeviceId();
             deliveryPending.incrementAndGet();
         }
 
@@ -82,6 +129,13 @@ public class PositionForwardingHandler extends BasePositionHandler {
         }
 
         private void retry(Throwable throwable) {
+            if (positionSpool != null) {
+                int pending = deliveryPending.decrementAndGet();
+                LOGGER.warn("Position forwarding failed, spooling: " + pending + " pending", throwable);
+                spool(positionData);
+                releaseSend(deviceId);
+                return;
+            }
             boolean scheduled = false;
             try {
                 if (retryEnabled && deliveryPending.get() <= retryLimit && retries < retryCount) {
@@ -102,6 +156,9 @@ public class PositionForwardingHandler extends BasePositionHandler {
         public void onResult(boolean success, Throwable throwable) {
             if (success) {
                 deliveryPending.decrementAndGet();
+                if (positionSpool != null) {
+                    releaseSend(deviceId);
+                }
             } else {
                 retry(throwable);
             }
@@ -123,13 +180,161 @@ public class PositionForwardingHandler extends BasePositionHandler {
         }
     }
 
+    class SpoolReplay implements TimerTask {
+
+        private List<PositionData> window;
+        private boolean[] delivered;
+        private int failures;
+
+        private final AtomicInteger chainsPending = new AtomicInteger();
+        private volatile Throwable error;
+
+        private void schedule(long delay) {
+            timer.newTimeout(this, delay, TimeUnit.MILLISECONDS);
+        }
+
+        private void scheduleRetry() {
+            failures += 1;
+            schedule(Math.min(retryDelay * (1L << Math.min(failures, 20)), MAX_REPLAY_DELAY));
+        }
+
+        private boolean readWindow() throws IOException {
+            List<byte[]> records = positionSpool.read(spoolWindow);
+            if (records.isEmpty()) {
+                return false;
+            }
+            window = new ArrayList<>(records.size());
+            delivered = new boolean[records.size()];
+            for (int i = 0; i < records.size(); i++) {
+                try {
+                    window.add(objectMapper.readValue(records.get(i), PositionData.class));
+                } catch (IOException e) {
+                    LOGGER.warn("Spooled position decoding failed", e);
+                    window.add(null);
+                    delivered[i] = true;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public void run(Timeout timeout) {
+            executorService.execute(this::replayWindow);
+        }
+
+        private void replayWindow() {
+            try {
+                if (window == null && !readWindow()) {
+                    replaying.set(false);
+                    if (!positionSpool.isEmpty()) {
+                        startReplay();
+                    }
+                    return;
+                }
+            } catch (IOException e) {
+                LOGGER.warn("Position spool read failed", e);
+                scheduleRetry();
+                return;
+            }
+
+            Map<Long, Queue<Integer>> chains = new LinkedHashMap<>();
+            for (int i = 0; i < window.size(); i++) {
+                if (!delivered[i]) {
+                    long deviceId = window.get(i).getPosition().getDeviceId();
+                    chains.computeIfAbsent(deviceId, key -> new ArrayDeque<>()).add(i);
+                }
+            }
+            error = null;
+            chainsPending.set(chains.size() + 1);
+            chains.values().forEach(this::sendNext);
+            chainCompleted();
+        }
+
+        private void sendNext(Queue<Integer> chain) {
+            Integer index = chain.poll();
+            if (index == null) {
+                chainCompleted();
+                return;
+            }
+            positionForwarder.forward(window.get(index), (success, throwable) -> {
+                if (success) {
+                    delivered[index] = true;
+                    sendNext(chain);
+                } else {
+                    error = throwable;
+                    chainCompleted();
+                }
+            });
+        }
+
+        private void chainCompleted() {
+            if (chainsPending.decrementAndGet() == 0) {
+                executorService.execute(this::completeWindow);
+            }
+        }
+
+        private void completeWindow() {
+            if (error != null) {
+                LOGGER.warn("Spooled position forwarding failed", error);
+                scheduleRetry();
+                return;
+            }
+            try {
+                positionSpool.commit();
+                window = null;
+                failures = 0;
+                schedule(0);
+            } catch (IOException e) {
+                LOGGER.warn("Position spool commit failed", e);
+                scheduleRetry();
+            }
+        }
+    }
+
+    private void startReplay() {
+        if (replaying.compareAndSet(false, true)) {
+            new SpoolReplay().schedule(retryDelay);
+        }
+    }
+
+    private void spool(PositionData positionData) {
+        try {
+            if (!positionSpool.append(objectMapper.writeValueAsBytes(positionData))) {
+                LOGGER.warn("Position is too large for forwarding spool");
+            }
+        } catch (IOException e) {
+            LOGGER.warn("Position spooling failed", e);
+        }
+        startReplay();
+    }
+
+    private void releaseSend(long deviceId) {
+        deviceSends.computeIfPresent(deviceId, (key, count) -> count > 1 ? count - 1 : null);
+    }
+
     @Override
     public void onPosition(Position position, Callback callback) {
         if (positionForwarder != null) {
             PositionData positionData = new PositionData();
             positionData.setPosition(position);
             positionData.setDevice(cacheManager.getObject(Device.class, position.getDeviceId()));
-            new AsyncRequestAndCallback(positionData).send();
+            if (positionSpool != null) {
+                boolean[] send = new boolean[1];
+                deviceSends.compute(position.getDeviceId(), (key, count) -> {
+                    int current = count != null ? count : 0;
+                    if (current < MAX_IN_FLIGHT && positionSpool.isEmpty()) {
+                        send[0] = true;
+                        return current + 1;
+                    }
+                    spool(positionData);
+                    return count;
+                });
+                if (send[0]) {
+                    new AsyncRequestAndCallback(positionData).send();
+                }
+            } else {
+                new AsyncRequestAndCallback(positionData).send();
+            }
         }
         callback.processed(false);
     }
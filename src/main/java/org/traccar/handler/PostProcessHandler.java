@@ -18,6 +18,7 @@ package org.traccar.handler;
 import jakarta.inject.Inject;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.traccar.database.DeviceUpdateManager;
 import org.traccar.helper.model.PositionUtil;
 import org.traccar.model.Device;
 import org.traccar.model.Position;
@@ -36,24 +37,32 @@ public class PostProcessHandler extends BasePositionHandler {
     private final CacheManager cacheManager;
     private final Storage storage;
     private final ConnectionManager connectionManager;
+    private final DeviceUpdateManager deviceUpdateManager;
 
     @Inject
-    public PostProcessHandler(CacheManager cacheManager, Storage storage, ConnectionManager connectionManager) {
+    public PostProcessHandler(
+            CacheManager cacheManager, Storage storage, ConnectionManager connectionManager,
+            DeviceUpdateManager deviceUpdateManager) {
         this.cacheManager = cacheManager;
         this.storage = storage;
         this.connectionManager = connectionManager;
+        this.deviceUpdateManager = deviceUpdateManager;
     }
 
     @Override
     public void onPosition(Position position, Callback callback) {
         try {
             if (PositionUtil.isLatest(cacheManager, position)) {
-                Device updatedDevice = new Device();
-                updatedDevice.setId(position.getDeviceId());
-                updatedDevice.setPositionId(position.getId());
-                storage.updateObject(updatedDevice, new Request(
-                        new Columns.Include("positionId"),
-                        new Condition.Equals("id", updatedDevice.getId())));
+                if (deviceUpdateManager.isEnabled()) {
+                    deviceUpdateManager.updatePosition(position.getDeviceId(), position.getId());
+                } else {
+                    Device updatedDevice = new Device();
+                    updatedDevice.setId(position.getDeviceId());
+                    updatedDevice.setPositionId(position.getId());
+                    storage.updateObject(updatedDevice, new Request(
+                            new Columns.Include("positionId"),
+                            new Condition.Equals("id", updatedDevice.getId())));
+                }
 
                 cacheManager.updatePosition(position);
                 connectionManager.updatePosition(true, position);
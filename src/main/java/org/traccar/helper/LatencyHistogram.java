@@ -0,0 +1,71 @@
+/*
+ * Copyright 2025 Anton Tananaev (anton@traccar.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.traccar.helper;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency histogram with power of two buckets. Bucket upper bounds start at about one microsecond and end at about
+ * 34 seconds. Recording is a single leading zeros count and a striped counter increment.
+ */
+public class LatencyHistogram {
+
+    private static final int MIN_SHIFT = 10;
+    private static final int BUCKETS = 26;
+
+    private final LongAdder[] counts = new LongAdder[BUCKETS + 1];
+    private final LongAdder sum = new LongAdder();
+
+    public LatencyHistogram() {
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] = new LongAdder();
+        }
+    }
+
+    public void record(long nanos) {
+        long value = Math.max(nanos, 0);
+        int index = 64 - Long.numberOfLeadingZeros(Math.max(value - 1, 0) >> MIN_SHIFT);
+        counts[Math.min(index, BUCKETS)].increment();
+        sum.add(value);
+    }
+
+    public static int getBucketCount() {
+        return BUCKETS;
+    }
+
+    /**
+     * Upper bound of the bucket in seconds. The last bucket, with index equal to bucket count, is unbounded.
+     */
+    public static double getUpperBound(int index) {
+        return (1L << (MIN_SHIFT + index)) / 1e9;
+    }
+
+    /**
+     * Non-cumulative bucket counts, including the unbounded bucket at the end.
+     */
+    public long[] getCounts() {
+        long[] result = new long[counts.length];
+        for (int i = 0; i < counts.length; i++) {
+            result[i] = counts[i].sum();
+        }
+        return result;
+    }
+
+    public double getSum() {
+        return sum.sum() / 1e9;
+    }
+
+}
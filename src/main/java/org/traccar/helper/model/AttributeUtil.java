@@ -1,5 +1,5 @@
 /*
- * Copyright 2022 - 2023 Anton Tananaev (anton@traccar.org)
+ * Copyright 2022 - 2025 Anton Tananaev (anton@traccar.org)
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -15,7 +15,6 @@
  */
 package org.traccar.helper.model;
 
-import org.traccar.api.security.PermissionsService;
 import org.traccar.config.Config;
 import org.traccar.config.ConfigKey;
 import org.traccar.config.KeyType;
@@ -145,13 +144,13 @@ public final class AttributeUtil {
 
         private final Config config;
         private final Storage storage;
-        private final PermissionsService permissionsService;
+        private final Server server;
         private final Device device;
 
-        public StorageProvider(Config config, Storage storage, PermissionsService permissionsService, Device device) {
+        public StorageProvider(Config config, Storage storage, Server server, Device device) {
             this.config = config;
             this.storage = storage;
-            this.permissionsService = permissionsService;
+            this.server = server;
             this.device = device;
         }
 
@@ -172,11 +171,7 @@ public final class AttributeUtil {
 
         @Override
         public Server getServer() {
-            try {
-                return permissionsService.getServer();
-            } catch (StorageException e) {
-                throw new RuntimeException(e);
-            }
+            return server;
         }
 
         @Override
@@ -15,11 +15,9 @@
  */
 package org.traccar.helper.model;
 
-import org.traccar.model.Geofence;
 import org.traccar.model.Position;
 import org.traccar.session.cache.CacheManager;
 
-import java.util.ArrayList;
 import java.util.List;
 
 public final class GeofenceUtil {
@@ -28,13 +26,8 @@ public final class GeofenceUtil {
     }
 
     public static List<Long> getCurrentGeofences(CacheManager cacheManager, Position position) {
-        List<Long> result = new ArrayList<>();
-        for (Geofence geofence : cacheManager.getDeviceObjects(position.getDeviceId(), Geofence.class)) {
-            if (geofence.containsPosition(position)) {
-                result.add(geofence.getId());
-            }
-        }
-        return result;
+        return cacheManager.getDeviceGeofenceIndex(position.getDeviceId())
+                .getGeofenceIds(position.getLatitude(), position.getLongitude());
     }
 
 }
@@ -15,7 +15,6 @@
  */
 package org.traccar.helper.model;
 
-import org.traccar.model.BaseModel;
 import org.traccar.model.Device;
 import org.traccar.model.Position;
 import org.traccar.model.User;
@@ -27,13 +26,18 @@ import org.traccar.storage.query.Condition;
 import org.traccar.storage.query.Order;
 import org.traccar.storage.query.Request;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
 import java.util.stream.Stream;
 
 public final class PositionUtil {
 
+    private static final int POSITION_BATCH_SIZE = 500;
+
     private PositionUtil() {
     }
 
@@ -75,6 +79,21 @@ public final class PositionUtil {
                 new Order("fixTime")));
     }
 
+    public static Map<Long, Position> getPositionsById(
+            Storage storage, Collection<Long> positionIds) throws StorageException {
+        List<Long> ids = positionIds.stream().filter(id -> id > 0).distinct().toList();
+        Map<Long, Position> result = new HashMap<>();
+        for (int i = 0; i < ids.size(); i += POSITION_BATCH_SIZE) {
+            var positions = storage.getObjects(Position.class, new Request(
+                    new Columns.All(),
+                    new Condition.In("id", ids.subList(i, Math.min(ids.size(), i + POSITION_BATCH_SIZE)))));
+            for (Position position : positions) {
+                result.put(position.getId(), position);
+            }
+        }
+        return result;
+    }
+
     public static Position getEdgePosition(
             Storage storage, long deviceId, Date from, Date to, boolean end) throws StorageException {
         return storage.getObject(Position.class, new Request(
@@ -88,17 +107,24 @@ public final class PositionUtil {
                 new Order("fixTime", end, 1)));
     }
 
-    public static List<Position> getLatestPositions(Storage storage, long userId) throws StorageException {
+    public static List<Position> getLatestPositions(
+            Storage storage, CacheManager cacheManager, long userId) throws StorageException {
         var devices = storage.getObjects(Device.class, new Request(
-                new Columns.Include("id"),
+                new Columns.Include("id", "positionId"),
                 new Condition.Permission(User.class, userId, Device.class)));
-        var deviceIds = devices.stream().map(BaseModel::getId).collect(Collectors.toUnmodifiableSet());
 
-        var positions = storage.getObjects(Position.class, new Request(
-                new Columns.All(), new Condition.LatestPositions()));
-        return positions.stream()
-                .filter(position -> deviceIds.contains(position.getDeviceId()))
-                .toList();
+        List<Position> positions = new ArrayList<>();
+        List<Long> positionIds = new ArrayList<>();
+        for (Device device : devices) {
+            Position position = cacheManager.getPosition(device.getId());
+            if (position != null) {
+                positions.add(position);
+            } else if (device.getPositionId() > 0) {
+                positionIds.add(device.getPositionId());
+            }
+        }
+        positions.addAll(getPositionsById(storage, positionIds).values());
+        return positions;
     }
 
 }
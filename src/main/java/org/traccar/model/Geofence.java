@@ -80,7 +80,7 @@ public class Geofence extends ExtendedModel implements Schedulable {
             try {
                 if (area.startsWith("CIRCLE")) {
                     geometry = new GeofenceCircle(area);
-                } else if (area.startsWith("POLYGON")) {
+                } else if (area.startsWith("POLYGON") || area.startsWith("MULTIPOLYGON")) {
                     geometry = new GeofencePolygon(area);
                 } else if (area.startsWith("LINESTRING")) {
                     geometry = new GeofencePolyline(area, getDouble("polylineDistance", 25.0));
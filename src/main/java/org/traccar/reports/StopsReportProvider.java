@@ -1,5 +1,5 @@
 /*
- * Copyright 2017 - 2022 Anton Tananaev (anton@traccar.org)
+ * Copyright 2017 - 2025 Anton Tananaev (anton@traccar.org)
  * Copyright 2017 Andrey Kunitsyn (andrey@traccar.org)
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
@@ -17,11 +17,13 @@
 package org.traccar.reports;
 
 import org.apache.poi.ss.util.WorkbookUtil;
+import org.traccar.api.security.PermissionsService;
 import org.traccar.config.Config;
 import org.traccar.config.Keys;
 import org.traccar.helper.model.DeviceUtil;
 import org.traccar.model.Device;
 import org.traccar.model.Group;
+import org.traccar.reports.common.ParallelReportExecutor;
 import org.traccar.reports.common.ReportUtils;
 import org.traccar.reports.model.DeviceReportSection;
 import org.traccar.reports.model.StopReportItem;
@@ -41,17 +43,24 @@ import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Date;
+import java.util.HashMap;
 
 public class StopsReportProvider {
 
     private final Config config;
     private final ReportUtils reportUtils;
+    private final ParallelReportExecutor parallelReportExecutor;
+    private final PermissionsService permissionsService;
     private final Storage storage;
 
     @Inject
-    public StopsReportProvider(Config config, ReportUtils reportUtils, Storage storage) {
+    public StopsReportProvider(
+            Config config, ReportUtils reportUtils, ParallelReportExecutor parallelReportExecutor,
+            PermissionsService permissionsService, Storage storage) {
         this.config = config;
         this.reportUtils = reportUtils;
+        this.parallelReportExecutor = parallelReportExecutor;
+        this.permissionsService = permissionsService;
         this.storage = storage;
     }
 
@@ -60,9 +69,13 @@ public class StopsReportProvider {
             Date from, Date to) throws StorageException {
         reportUtils.checkPeriodLimit(from, to);
 
+        var server = permissionsService.getServer();
         ArrayList<StopReportItem> result = new ArrayList<>();
-        for (Device device: DeviceUtil.getAccessibleDevices(storage, userId, deviceIds, groupIds)) {
-            result.addAll(reportUtils.detectTripsAndStops(device, from, to, StopReportItem.class));
+        for (var deviceResults : parallelReportExecutor.execute(
+                DeviceUtil.getAccessibleDevices(storage, userId, deviceIds, groupIds),
+                device -> reportUtils.detectTripsAndStops(
+                        device, from, to, StopReportItem.class, server, new HashMap<>()))) {
+            result.addAll(deviceResults);
         }
         return result;
     }
@@ -74,8 +87,14 @@ public class StopsReportProvider {
 
         ArrayList<DeviceReportSection> devicesStops = new ArrayList<>();
         ArrayList<String> sheetNames = new ArrayList<>();
-        for (Device device: DeviceUtil.getAccessibleDevices(storage, userId, deviceIds, groupIds)) {
-            Collection<StopReportItem> stops = reportUtils.detectTripsAndStops(device, from, to, StopReportItem.class);
+        var server = permissionsService.getServer();
+        var devices = DeviceUtil.getAccessibleDevices(storage, userId, deviceIds, groupIds);
+        var devicesResults = parallelReportExecutor.execute(
+                devices, device -> reportUtils.detectTripsAndStops(
+                        device, from, to, StopReportItem.class, server, new HashMap<>()));
+        var iterator = devicesResults.iterator();
+        for (Device device: devices) {
+            Collection<StopReportItem> stops = iterator.next();
             DeviceReportSection deviceStops = new DeviceReportSection();
             deviceStops.setDeviceName(device.getName());
             sheetNames.add(WorkbookUtil.createSafeSheetName(deviceStops.getDeviceName()));
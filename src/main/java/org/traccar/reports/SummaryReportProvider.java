@@ -27,6 +27,8 @@ import org.traccar.helper.model.PositionUtil;
 import org.traccar.helper.model.UserUtil;
 import org.traccar.model.Device;
 import org.traccar.model.Position;
+import org.traccar.model.Server;
+import org.traccar.reports.common.ParallelReportExecutor;
 import org.traccar.reports.common.ReportUtils;
 import org.traccar.reports.common.TripsConfig;
 import org.traccar.reports.model.SummaryReportItem;
@@ -52,20 +54,23 @@ public class SummaryReportProvider {
 
     private final Config config;
     private final ReportUtils reportUtils;
+    private final ParallelReportExecutor parallelReportExecutor;
     private final PermissionsService permissionsService;
     private final Storage storage;
 
     @Inject
     public SummaryReportProvider(
-            Config config, ReportUtils reportUtils, PermissionsService permissionsService, Storage storage) {
+            Config config, ReportUtils reportUtils, ParallelReportExecutor parallelReportExecutor,
+            PermissionsService permissionsService, Storage storage) {
         this.config = config;
         this.reportUtils = reportUtils;
+        this.parallelReportExecutor = parallelReportExecutor;
         this.permissionsService = permissionsService;
         this.storage = storage;
     }
 
     private Collection<SummaryReportItem> calculateDeviceResult(
-            Device device, Date from, Date to, boolean fast) throws StorageException {
+            Server server, Device device, Date from, Date to, boolean fast) throws StorageException {
 
         SummaryReportItem result = new SummaryReportItem();
         result.setDeviceId(device.getId());
@@ -91,7 +96,7 @@ public class SummaryReportProvider {
 
         if (first != null && last != null) {
             TripsConfig tripsConfig = new TripsConfig(
-                    new AttributeUtil.StorageProvider(config, storage, permissionsService, device));
+                    new AttributeUtil.StorageProvider(config, storage, server, device));
             boolean ignoreOdometer = tripsConfig.getIgnoreOdometer();
             result.setDistance(PositionUtil.calculateDistance(first, last, !ignoreOdometer));
             result.setSpentFuel(reportUtils.calculateFuel(first, last, device));
@@ -123,7 +128,7 @@ public class SummaryReportProvider {
     }
 
     private Collection<SummaryReportItem> calculateDeviceResults(
-            Device device, ZonedDateTime from, ZonedDateTime to, boolean daily) throws StorageException {
+            Server server, Device device, ZonedDateTime from, ZonedDateTime to, boolean daily) throws StorageException {
 
         boolean fast = Duration.between(from, to).toSeconds() > config.getLong(Keys.REPORT_FAST_THRESHOLD);
         var results = new ArrayList<SummaryReportItem>();
@@ -132,11 +137,12 @@ public class SummaryReportProvider {
                 ZonedDateTime fromDay = from.truncatedTo(ChronoUnit.DAYS);
                 ZonedDateTime nextDay = fromDay.plusDays(1);
                 results.addAll(calculateDeviceResult(
-                        device, Date.from(from.toInstant()), Date.from(nextDay.toInstant()), fast));
+                        server, device, Date.from(from.toInstant()), Date.from(nextDay.toInstant()), fast));
                 from = nextDay;
             }
         }
-        results.addAll(calculateDeviceResult(device, Date.from(from.toInstant()), Date.from(to.toInstant()), fast));
+        results.addAll(calculateDeviceResult(
+                server, device, Date.from(from.toInstant()), Date.from(to.toInstant()), fast));
         return results;
     }
 
@@ -145,12 +151,17 @@ public class SummaryReportProvider {
             Date from, Date to, boolean daily) throws StorageException {
         reportUtils.checkPeriodLimit(from, to);
 
-        var tz = UserUtil.getTimezone(permissionsService.getServer(), permissionsService.getUser(userId)).toZoneId();
+        var server = permissionsService.getServer();
+        var tz = UserUtil.getTimezone(server, permissionsService.getUser(userId)).toZoneId();
+
+        var zonedFrom = from.toInstant().atZone(tz);
+        var zonedTo = to.toInstant().atZone(tz);
+        var devicesResults = parallelReportExecutor.execute(
+                DeviceUtil.getAccessibleDevices(storage, userId, deviceIds, groupIds),
+                device -> calculateDeviceResults(server, device, zonedFrom, zonedTo, daily));
 
         ArrayList<SummaryReportItem> result = new ArrayList<>();
-        for (Device device: DeviceUtil.getAccessibleDevices(storage, userId, deviceIds, groupIds)) {
-            var deviceResults = calculateDeviceResults(
-                    device, from.toInstant().atZone(tz), to.toInstant().atZone(tz), daily);
+        for (var deviceResults : devicesResults) {
             for (SummaryReportItem summaryReport : deviceResults) {
                 if (summaryReport.getStartTime() != null && summaryReport.getEndTime() != null) {
                     result.add(summaryReport);
@@ -1,5 +1,5 @@
 /*
- * Copyright 2016 - 2022 Anton Tananaev (anton@traccar.org)
+ * Copyright 2016 - 2025 Anton Tananaev (anton@traccar.org)
  * Copyright 2016 Andrey Kunitsyn (andrey@traccar.org)
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
@@ -17,11 +17,13 @@
 package org.traccar.reports;
 
 import org.apache.poi.ss.util.WorkbookUtil;
+import org.traccar.api.security.PermissionsService;
 import org.traccar.config.Config;
 import org.traccar.config.Keys;
 import org.traccar.helper.model.DeviceUtil;
 import org.traccar.model.Device;
 import org.traccar.model.Group;
+import org.traccar.reports.common.ParallelReportExecutor;
 import org.traccar.reports.common.ReportUtils;
 import org.traccar.reports.model.DeviceReportSection;
 import org.traccar.reports.model.TripReportItem;
@@ -40,18 +42,27 @@ import java.io.OutputStream;
 import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
 
 public class TripsReportProvider {
 
     private final Config config;
     private final ReportUtils reportUtils;
+    private final ParallelReportExecutor parallelReportExecutor;
+    private final PermissionsService permissionsService;
     private final Storage storage;
 
     @Inject
-    public TripsReportProvider(Config config, ReportUtils reportUtils, Storage storage) {
+    public TripsReportProvider(
+            Config config, ReportUtils reportUtils, ParallelReportExecutor parallelReportExecutor,
+            PermissionsService permissionsService, Storage storage) {
         this.config = config;
         this.reportUtils = reportUtils;
+        this.parallelReportExecutor = parallelReportExecutor;
+        this.permissionsService = permissionsService;
         this.storage = storage;
     }
 
@@ -60,9 +71,14 @@ public class TripsReportProvider {
             Date from, Date to) throws StorageException {
         reportUtils.checkPeriodLimit(from, to);
 
+        var server = permissionsService.getServer();
+        Map<String, String> driverNames = Collections.synchronizedMap(new HashMap<>());
         ArrayList<TripReportItem> result = new ArrayList<>();
-        for (Device device: DeviceUtil.getAccessibleDevices(storage, userId, deviceIds, groupIds)) {
-            result.addAll(reportUtils.detectTripsAndStops(device, from, to, TripReportItem.class));
+        for (var deviceResults : parallelReportExecutor.execute(
+                DeviceUtil.getAccessibleDevices(storage, userId, deviceIds, groupIds),
+                device -> reportUtils.detectTripsAndStops(
+                        device, from, to, TripReportItem.class, server, driverNames))) {
+            result.addAll(deviceResults);
         }
         return result;
     }
@@ -74,8 +90,15 @@ public class TripsReportProvider {
 
         ArrayList<DeviceReportSection> devicesTrips = new ArrayList<>();
         ArrayList<String> sheetNames = new ArrayList<>();
-        for (Device device: DeviceUtil.getAccessibleDevices(storage, userId, deviceIds, groupIds)) {
-            Collection<TripReportItem> trips = reportUtils.detectTripsAndStops(device, from, to, TripReportItem.class);
+        var server = permissionsService.getServer();
+        Map<String, String> driverNames = Collections.synchronizedMap(new HashMap<>());
+        var devices = DeviceUtil.getAccessibleDevices(storage, userId, deviceIds, groupIds);
+        var devicesResults = parallelReportExecutor.execute(devices,
+                device -> reportUtils.detectTripsAndStops(
+                        device, from, to, TripReportItem.class, server, driverNames));
+        var iterator = devicesResults.iterator();
+        for (Device device: devices) {
+            Collection<TripReportItem> trips = iterator.next();
             DeviceReportSection deviceTrips = new DeviceReportSection();
             deviceTrips.setDeviceName(device.getName());
             sheetNames.add(WorkbookUtil.createSafeSheetName(deviceTrips.getDeviceName()));
@@ -0,0 +1,112 @@
+/*
+ * Copyright 2025 Anton Tananaev (anton@traccar.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.traccar.reports.common;
+
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+import org.traccar.config.Config;
+import org.traccar.config.Keys;
+import org.traccar.storage.StorageException;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+@Singleton
+public class ParallelReportExecutor {
+
+    private static final int DEFAULT_POOL_SIZE = 10;
+
+    public interface Task<T, R> {
+        R execute(T item) throws StorageException;
+    }
+
+    private final ExecutorService executorService;
+    private final int concurrency;
+
+    @Inject
+    public ParallelReportExecutor(Config config, ExecutorService executorService) {
+        this.executorService = executorService;
+        if (config.hasKey(Keys.REPORT_CONCURRENCY)) {
+            concurrency = config.getInteger(Keys.REPORT_CONCURRENCY);
+        } else {
+            int poolSize = config.getInteger(Keys.DATABASE_MAX_POOL_SIZE);
+            concurrency = Math.max(1, (poolSize > 0 ? poolSize : DEFAULT_POOL_SIZE) / 2);
+        }
+    }
+
+    public int getConcurrency() {
+        return concurrency;
+    }
+
+    public <T, R> List<R> execute(Collection<T> items, Task<T, R> task) throws StorageException {
+        List<R> results = new ArrayList<>(items.size());
+        if (concurrency <= 1 || items.size() <= 1) {
+            for (T item : items) {
+                results.add(task.execute(item));
+            }
+            return results;
+        }
+
+        Semaphore semaphore = new Semaphore(concurrency);
+        AtomicBoolean failed = new AtomicBoolean();
+        List<Future<R>> futures = new ArrayList<>(items.size());
+        try {
+            for (T item : items) {
+                semaphore.acquire();
+                if (failed.get()) {
+                    semaphore.release();
+                    break;
+                }
+                futures.add(executorService.submit(() -> {
+                    try {
+                        return task.execute(item);
+                    } catch (StorageException | RuntimeException e) {
+                        failed.set(true);
+                        throw e;
+                    } finally {
+                        semaphore.release();
+                    }
+                }));
+            }
+            for (Future<R> future : futures) {
+                results.add(future.get());
+            }
+            return results;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new StorageException(e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof StorageException storageException) {
+                throw storageException;
+            } else if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            } else if (cause instanceof Error error) {
+                throw error;
+            }
+            throw new StorageException(cause);
+        } finally {
+            futures.forEach(future -> future.cancel(true));
+        }
+    }
+
+}
@@ -41,6 +41,7 @@ import org.traccar.model.Device;
 import org.traccar.model.Driver;
 import org.traccar.model.Event;
 import org.traccar.model.Position;
+import org.traccar.model.Server;
 import org.traccar.model.User;
 import org.traccar.reports.model.BaseReportItem;
 import org.traccar.reports.model.StopReportItem;
@@ -61,6 +62,7 @@ import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
@@ -169,7 +171,7 @@ public class ReportUtils {
 
     private TripReportItem calculateTrip(
             Device device, Position startTrip, Position endTrip, double maxSpeed,
-            boolean ignoreOdometer) throws StorageException {
+            boolean ignoreOdometer, Map<String, String> driverNames) throws StorageException {
 
         TripReportItem trip = new TripReportItem();
 
@@ -207,7 +209,13 @@ public class ReportUtils {
         trip.setSpentFuel(calculateFuel(startTrip, endTrip, device));
 
         trip.setDriverUniqueId(findDriver(startTrip, endTrip));
-        trip.setDriverName(findDriverName(trip.getDriverUniqueId()));
+        String driverUniqueId = trip.getDriverUniqueId();
+        if (driverUniqueId != null) {
+            if (!driverNames.containsKey(driverUniqueId)) {
+                driverNames.put(driverUniqueId, findDriverName(driverUniqueId));
+            }
+            trip.setDriverName(driverNames.get(driverUniqueId));
+        }
 
         if (!ignoreOdometer
                 && startTrip.getDouble(Position.KEY_ODOMETER) != 0
@@ -268,10 +276,10 @@ public class ReportUtils {
     @SuppressWarnings("unchecked")
     private <T extends BaseReportItem> T calculateTripOrStop(
             Device device, Position startPosition, Position endPosition, double maxSpeed,
-            boolean ignoreOdometer, Class<T> reportClass) throws StorageException {
+            boolean ignoreOdometer, Class<T> reportClass, Map<String, String> driverNames) throws StorageException {
 
         if (reportClass.equals(TripReportItem.class)) {
-            return (T) calculateTrip(device, startPosition, endPosition, maxSpeed, ignoreOdometer);
+            return (T) calculateTrip(device, startPosition, endPosition, maxSpeed, ignoreOdometer, driverNames);
         } else {
             return (T) calculateStop(device, startPosition, endPosition, ignoreOdometer);
         }
@@ -279,84 +287,119 @@ public class ReportUtils {
 
     public <T extends BaseReportItem> List<T> detectTripsAndStops(
             Device device, Date from, Date to, Class<T> reportClass) throws StorageException {
+        return detectTripsAndStops(device, from, to, reportClass, permissionsService.getServer(), new HashMap<>());
+    }
+
+    /**
+     * Variant safe to call outside the request thread. Server must be resolved by the caller.
+     */
+    public <T extends BaseReportItem> List<T> detectTripsAndStops(
+            Device device, Date from, Date to, Class<T> reportClass,
+            Server server, Map<String, String> driverNames) throws StorageException {
 
         long threshold = config.getLong(Keys.REPORT_FAST_THRESHOLD);
         if (Duration.between(from.toInstant(), to.toInstant()).toSeconds() > threshold) {
-            return fastTripsAndStops(device, from, to, reportClass);
+            return fastTripsAndStops(device, from, to, reportClass, server, driverNames);
         } else {
-            return slowTripsAndStops(device, from, to, reportClass);
+            return slowTripsAndStops(device, from, to, reportClass, server, driverNames);
         }
     }
 
+    private record ReportSection(Position start, Position end, double maxSpeed) {
+    }
+
     public <T extends BaseReportItem> List<T> slowTripsAndStops(
             Device device, Date from, Date to, Class<T> reportClass) throws StorageException {
+        return slowTripsAndStops(device, from, to, reportClass, permissionsService.getServer(), new HashMap<>());
+    }
+
+    public <T extends BaseReportItem> List<T> slowTripsAndStops(
+            Device device, Date from, Date to, Class<T> reportClass,
+            Server server, Map<String, String> driverNames) throws StorageException {
 
-        List<T> result = new ArrayList<>();
         TripsConfig tripsConfig = new TripsConfig(
-                new AttributeUtil.StorageProvider(config, storage, permissionsService, device));
+                new AttributeUtil.StorageProvider(config, storage, server, device));
         boolean ignoreOdometer = tripsConfig.getIgnoreOdometer();
         boolean trips = reportClass.equals(TripReportItem.class);
 
-        List<Event> events = new ArrayList<>();
-        Map<Long, Position> positionMap = new HashMap<>();
-        Position startPosition = null;
-        double maxSpeed = 0;
-        var positions = PositionUtil.getPositions(storage, device.getId(), from, to);
-        if (!positions.isEmpty()) {
-            MotionState motionState = new MotionState();
-            boolean initialValue = positions.get(0).getBoolean(Position.KEY_MOTION);
-            motionState.setMotionStreak(initialValue);
-            motionState.setMotionState(initialValue);
-            if (initialValue == trips) {
-                startPosition = positions.get(0);
-                maxSpeed = startPosition.getSpeed();
-            }
+        List<ReportSection> sections = new ArrayList<>();
+        try (var positions = PositionUtil.getPositionsStream(storage, device.getId(), from, to)) {
+            MotionState motionState = null;
+            Position startPosition = null;
+            Position motionPosition = null;
+            Position last = null;
+            double maxSpeed = 0;
+
+            Iterator<Position> iterator = positions.iterator();
+            while (iterator.hasNext()) {
+                Position position = iterator.next();
+                if (motionState == null) {
+                    motionState = new MotionState();
+                    boolean initialValue = position.getBoolean(Position.KEY_MOTION);
+                    motionState.setMotionStreak(initialValue);
+                    motionState.setMotionState(initialValue);
+                    if (initialValue == trips) {
+                        startPosition = position;
+                    }
+                }
 
-            for (int i = 0; i < positions.size(); i++) {
-                Position last = i > 0 ? positions.get(i - 1) : null;
-                Position position = positions.get(i);
                 maxSpeed = Math.max(maxSpeed, position.getSpeed());
-                positionMap.put(position.getId(), position);
                 boolean motion = position.getBoolean(Position.KEY_MOTION);
-                MotionProcessor.updateState(motionState, last, positions.get(i), motion, tripsConfig);
-                if (motionState.getEvent() != null) {
-                    motionState.getEvent().set("maxSpeed", maxSpeed);
-                    events.add(motionState.getEvent());
+                MotionProcessor.updateState(motionState, last, position, motion, tripsConfig);
+
+                Event event = motionState.getEvent();
+                if (event != null) {
+                    Position eventPosition = null;
+                    if (motionPosition != null && motionPosition.getId() == event.getPositionId()) {
+                        eventPosition = motionPosition;
+                    } else if (last != null && last.getId() == event.getPositionId()) {
+                        eventPosition = last;
+                    }
+                    if (event.getType().equals(Event.TYPE_DEVICE_MOVING) == trips) {
+                        startPosition = eventPosition;
+                    } else if (startPosition != null) {
+                        if (eventPosition != null) {
+                            sections.add(new ReportSection(startPosition, eventPosition, maxSpeed));
+                        }
+                        startPosition = null;
+                    }
                     maxSpeed = 0;
                 }
-            }
-        }
 
-        for (Event event : events) {
-            boolean motion = event.getType().equals(Event.TYPE_DEVICE_MOVING);
-            if (motion == trips) {
-                startPosition = positionMap.get(event.getPositionId());
-            } else if (startPosition != null) {
-                Position endPosition = positionMap.get(event.getPositionId());
-                if (endPosition != null) {
-                    result.add(calculateTripOrStop(
-                            device, startPosition, endPosition,
-                            event.getDouble("maxSpeed"), ignoreOdometer, reportClass));
+                if (motionState.getMotionPositionId() == position.getId()) {
+                    motionPosition = position;
+                } else if (motionState.getMotionPositionId() == 0) {
+                    motionPosition = null;
                 }
-                startPosition = null;
+                last = position;
+            }
+
+            if (startPosition != null) {
+                sections.add(new ReportSection(startPosition, last, maxSpeed));
             }
         }
 
-        if (startPosition != null) {
-            Position endPosition = positions.get(positions.size() - 1);
+        List<T> result = new ArrayList<>(sections.size());
+        for (ReportSection section : sections) {
             result.add(calculateTripOrStop(
-                    device, startPosition, endPosition, maxSpeed, ignoreOdometer, reportClass));
+                    device, section.start(), section.end(), section.maxSpeed(), ignoreOdometer, reportClass,
+                    driverNames));
         }
-
         return result;
     }
 
     public <T extends BaseReportItem> List<T> fastTripsAndStops(
             Device device, Date from, Date to, Class<T> reportClass) throws StorageException {
+        return fastTripsAndStops(device, from, to, reportClass, permissionsService.getServer(), new HashMap<>());
+    }
+
+    public <T extends BaseReportItem> List<T> fastTripsAndStops(
+            Device device, Date from, Date to, Class<T> reportClass,
+            Server server, Map<String, String> driverNames) throws StorageException {
 
         List<T> result = new ArrayList<>();
         TripsConfig tripsConfig = new TripsConfig(
-                new AttributeUtil.StorageProvider(config, storage, permissionsService, device));
+                new AttributeUtil.StorageProvider(config, storage, server, device));
         boolean ignoreOdometer = tripsConfig.getIgnoreOdometer();
         boolean trips = reportClass.equals(TripReportItem.class);
 
@@ -375,17 +418,18 @@ public class ReportUtils {
             startPosition = null;
         }
 
+        var positions = PositionUtil.getPositionsById(
+                storage, events.stream().map(Event::getPositionId).toList());
+
         for (Event event : events) {
             boolean motion = event.getType().equals(Event.TYPE_DEVICE_MOVING);
             if (motion == trips) {
-                startPosition = storage.getObject(Position.class, new Request(
-                        new Columns.All(), new Condition.Equals("id", event.getPositionId())));
+                startPosition = positions.get(event.getPositionId());
             } else if (startPosition != null) {
-                Position endPosition = storage.getObject(Position.class, new Request(
-                        new Columns.All(), new Condition.Equals("id", event.getPositionId())));
+                Position endPosition = positions.get(event.getPositionId());
                 if (endPosition != null) {
                     result.add(calculateTripOrStop(
-                            device, startPosition, endPosition, 0, ignoreOdometer, reportClass));
+                            device, startPosition, endPosition, 0, ignoreOdometer, reportClass, driverNames));
                 }
                 startPosition = null;
             }
@@ -394,7 +438,7 @@ public class ReportUtils {
         if (startPosition != null) {
             Position endPosition = PositionUtil.getEdgePosition(storage, device.getId(), from, to, true);
             result.add(calculateTripOrStop(
-                    device, startPosition, endPosition, 0, ignoreOdometer, reportClass));
+                    device, startPosition, endPosition, 0, ignoreOdometer, reportClass, driverNames));
         }
 
         return result;
@@ -1,5 +1,5 @@
 /*
- * Copyright 2015 - 2024 Anton Tananaev (anton@traccar.org)
+ * Copyright 2015 - 2025 Anton Tananaev (anton@traccar.org)
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -26,11 +26,13 @@ import org.traccar.broadcast.BroadcastService;
 import org.traccar.config.Config;
 import org.traccar.config.Keys;
 import org.traccar.database.DeviceLookupService;
+import org.traccar.database.DeviceUpdateManager;
 import org.traccar.database.NotificationManager;
 import org.traccar.model.BaseModel;
 import org.traccar.model.Device;
 import org.traccar.model.Event;
 import org.traccar.model.LogRecord;
+import org.traccar.model.ObjectOperation;
 import org.traccar.model.Position;
 import org.traccar.model.User;
 import org.traccar.session.cache.CacheManager;
@@ -76,18 +78,20 @@ public class ConnectionManager implements BroadcastInterface {
     private final Timer timer;
     private final BroadcastService broadcastService;
     private final DeviceLookupService deviceLookupService;
+    private final DeviceUpdateManager deviceUpdateManager;
 
     private final Map<Long, Set<UpdateListener>> listeners = new HashMap<>();
     private final Map<Long, Set<Long>> userDevices = new HashMap<>();
     private final Map<Long, Set<Long>> deviceUsers = new HashMap<>();
 
     private final Map<Long, Timeout> timeouts = new ConcurrentHashMap<>();
+    private final Map<Long, Long> lastActivity = new ConcurrentHashMap<>();
 
     @Inject
     public ConnectionManager(
             Config config, CacheManager cacheManager, Storage storage,
             NotificationManager notificationManager, Timer timer, BroadcastService broadcastService,
-            DeviceLookupService deviceLookupService) {
+            DeviceLookupService deviceLookupService, DeviceUpdateManager deviceUpdateManager) {
         this.config = config;
         this.cacheManager = cacheManager;
         this.storage = storage;
@@ -95,6 +99,7 @@ public class ConnectionManager implements BroadcastInterface {
         this.timer = timer;
         this.broadcastService = broadcastService;
         this.deviceLookupService = deviceLookupService;
+        this.deviceUpdateManager = deviceUpdateManager;
         deviceTimeout = config.getLong(Keys.STATUS_TIMEOUT);
         showUnknownDevices = config.getBoolean(Keys.WEB_SHOW_UNKNOWN_DEVICES);
         broadcastService.registerListener(this);
@@ -180,11 +185,17 @@ public class ConnectionManager implements BroadcastInterface {
         try {
             device.setId(storage.addObject(device, new Request(new Columns.Exclude("id"))));
             LOGGER.info("Automatically registered " + uniqueId);
-            return device;
         } catch (StorageException e) {
             LOGGER.warn("Automatic registration failed", e);
             return null;
         }
+
+        try {
+            cacheManager.invalidateObject(true, Device.class, device.getId(), ObjectOperation.ADD);
+        } catch (Exception e) {
+            LOGGER.warn("Registered device invalidation failed", e);
+        }
+        return device;
     }
 
     public void deviceDisconnected(Channel channel, boolean supportsOffline) {
@@ -237,6 +248,17 @@ public class ConnectionManager implements BroadcastInterface {
         }
 
         String oldStatus = device.getStatus();
+
+        if (deviceUpdateManager.isEnabled() && status.equals(Device.STATUS_ONLINE)
+                && status.equals(oldStatus) && timeouts.containsKey(deviceId)) {
+            lastActivity.put(deviceId, System.currentTimeMillis());
+            if (time != null) {
+                device.setLastUpdate(time);
+                deviceUpdateManager.updateLastUpdate(deviceId, time);
+            }
+            return;
+        }
+
         device.setStatus(status);
 
         if (!status.equals(oldStatus)) {
@@ -254,6 +276,10 @@ public class ConnectionManager implements BroadcastInterface {
         if (time != null) {
             device.setLastUpdate(time);
         }
+        if (deviceUpdateManager.isEnabled() && device.getLastUpdate() != null) {
+            // overwrite batched value, otherwise a pending older one could be flushed after the write below
+            deviceUpdateManager.updateLastUpdate(deviceId, device.getLastUpdate());
+        }
 
         Timeout timeout = timeouts.remove(deviceId);
         if (timeout != null) {
@@ -261,11 +287,10 @@ public class ConnectionManager implements BroadcastInterface {
         }
 
         if (status.equals(Device.STATUS_ONLINE)) {
-            timeouts.put(deviceId, timer.newTimeout(timeout1 -> {
-                if (!timeout1.isCancelled()) {
-                    deviceUnknown(deviceId);
-                }
-            }, deviceTimeout, TimeUnit.SECONDS));
+            lastActivity.put(deviceId, System.currentTimeMillis());
+            scheduleTimeout(deviceId, TimeUnit.SECONDS.toMillis(deviceTimeout));
+        } else {
+            lastActivity.remove(deviceId);
         }
 
         try {
@@ -279,6 +304,30 @@ public class ConnectionManager implements BroadcastInterface {
         updateDevice(true, device);
     }
 
+    private void scheduleTimeout(long deviceId, long delay) {
+        Timeout previous = timeouts.put(deviceId, createTimeout(deviceId, delay));
+        if (previous != null) {
+            previous.cancel();
+        }
+    }
+
+    private Timeout createTimeout(long deviceId, long delay) {
+        return timer.newTimeout(timeout -> {
+            if (!timeout.isCancelled() && timeouts.get(deviceId) == timeout) {
+                long remaining = lastActivity.getOrDefault(deviceId, 0L)
+                        + TimeUnit.SECONDS.toMillis(deviceTimeout) - System.currentTimeMillis();
+                if (remaining > 0) {
+                    Timeout next = createTimeout(deviceId, remaining);
+                    if (!timeouts.replace(deviceId, timeout, next)) {
+                        next.cancel();
+                    }
+                } else if (timeouts.remove(deviceId, timeout)) {
+                    deviceUnknown(deviceId);
+                }
+            }
+        }, delay, TimeUnit.MILLISECONDS);
+    }
+
     public synchronized void sendKeepalive() {
         for (Set<UpdateListener> userListeners : listeners.values()) {
             for (UpdateListener listener : userListeners) {
@@ -292,7 +341,11 @@ public class ConnectionManager implements BroadcastInterface {
         if (local) {
             broadcastService.updateDevice(true, device);
         } else if (Device.STATUS_ONLINE.equals(device.getStatus())) {
-            timeouts.remove(device.getId());
+            Timeout timeout = timeouts.remove(device.getId());
+            if (timeout != null) {
+                timeout.cancel();
+            }
+            lastActivity.remove(device.getId());
             removeDeviceSession(device.getId());
         }
         for (long userId : deviceUsers.getOrDefault(device.getId(), Collections.emptySet())) {
@@ -337,6 +390,7 @@ public class ConnectionManager implements BroadcastInterface {
             if (listeners.containsKey(id1)) {
                 userDevices.get(id1).add(id2);
                 deviceUsers.put(id2, new HashSet<>(List.of(id1)));
+                broadcastService.updateInterest(Set.copyOf(deviceUsers.keySet()));
             }
         }
     }
@@ -381,6 +435,7 @@ public class ConnectionManager implements BroadcastInterface {
                     new Columns.Include("id"), new Condition.Permission(User.class, userId, Device.class)));
             userDevices.put(userId, devices.stream().map(BaseModel::getId).collect(Collectors.toSet()));
             devices.forEach(device -> deviceUsers.computeIfAbsent(device.getId(), id -> new HashSet<>()).add(userId));
+            broadcastService.updateInterest(Set.copyOf(deviceUsers.keySet()));
         }
         set.add(listener);
     }
@@ -395,6 +450,7 @@ public class ConnectionManager implements BroadcastInterface {
                 userIds.remove(userId);
                 return userIds.isEmpty() ? null : userIds;
             }));
+            broadcastService.updateInterest(Set.copyOf(deviceUsers.keySet()));
         }
     }
 
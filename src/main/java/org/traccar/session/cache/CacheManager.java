@@ -22,6 +22,7 @@ import org.slf4j.LoggerFactory;
 import org.traccar.broadcast.BroadcastInterface;
 import org.traccar.broadcast.BroadcastService;
 import org.traccar.config.Config;
+import org.traccar.geofence.GeofenceIndex;
 import org.traccar.model.Attribute;
 import org.traccar.model.BaseModel;
 import org.traccar.model.Calendar;
@@ -48,6 +49,7 @@ import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
@@ -69,6 +71,15 @@ public class CacheManager implements BroadcastInterface {
     private final Map<Long, Position> devicePositions = new ConcurrentHashMap<>();
     private final Map<Long, HashSet<Object>> deviceReferences = new ConcurrentHashMap<>();
 
+    private static final class GeofenceIndexes {
+        private final Map<Long, GeofenceIndex> devices = new ConcurrentHashMap<>();
+        private final Map<Set<Long>, GeofenceIndex> shared = new ConcurrentHashMap<>();
+    }
+
+    private volatile GeofenceIndexes geofenceIndexes = new GeofenceIndexes();
+
+    private final Set<BroadcastInterface> listeners = ConcurrentHashMap.newKeySet();
+
     @Inject
     public CacheManager(Config config, Storage storage, BroadcastService broadcastService) throws StorageException {
         this.config = config;
@@ -83,6 +94,10 @@ public class CacheManager implements BroadcastInterface {
         return graph.toString();
     }
 
+    public void registerListener(BroadcastInterface listener) {
+        listeners.add(listener);
+    }
+
     public Config getConfig() {
         return config;
     }
@@ -96,6 +111,58 @@ public class CacheManager implements BroadcastInterface {
                 .collect(Collectors.toUnmodifiableSet());
     }
 
+    public GeofenceIndex getDeviceGeofenceIndex(long deviceId) {
+        GeofenceIndexes indexes = geofenceIndexes;
+        return indexes.devices.computeIfAbsent(deviceId, id -> {
+            Set<Geofence> geofences = getDeviceObjects(id, Geofence.class);
+            Set<Long> geofenceIds = geofences.stream().map(BaseModel::getId).collect(Collectors.toUnmodifiableSet());
+            return indexes.shared.computeIfAbsent(geofenceIds, k -> new GeofenceIndex(geofences));
+        });
+    }
+
+    private void invalidateGeofenceIndexes(Predicate<Long> devices, Predicate<Set<Long>> geofences) {
+        GeofenceIndexes previous = geofenceIndexes;
+        GeofenceIndexes indexes = new GeofenceIndexes();
+        Set<GeofenceIndex> removed = new HashSet<>();
+        previous.shared.forEach((geofenceIds, index) -> {
+            if (geofences.test(geofenceIds)) {
+                removed.add(index);
+            } else {
+                indexes.shared.put(geofenceIds, index);
+            }
+        });
+        previous.devices.forEach((deviceId, index) -> {
+            if (!devices.test(deviceId) && !removed.contains(index)) {
+                indexes.devices.put(deviceId, index);
+            }
+        });
+        geofenceIndexes = indexes;
+    }
+
+    private void invalidateGeofenceIndexes(Class<? extends BaseModel> clazz, long id, ObjectOperation operation) {
+        if (clazz.equals(Geofence.class) && operation != ObjectOperation.ADD) {
+            invalidateGeofenceIndexes(deviceId -> false, geofenceIds -> geofenceIds.contains(id));
+        } else if (clazz.equals(Group.class) && operation == ObjectOperation.DELETE) {
+            invalidateGeofenceIndexes(deviceId -> true, geofenceIds -> false);
+        } else if (clazz.equals(Device.class) && operation == ObjectOperation.DELETE) {
+            invalidateGeofenceIndexes(deviceId -> deviceId == id, geofenceIds -> false);
+        }
+    }
+
+    private void invalidateGeofenceIndexes(Class<? extends BaseModel> clazz, long id) {
+        Set<Long> deviceIds;
+        if (clazz.equals(Device.class)) {
+            deviceIds = Set.of(id);
+        } else {
+            deviceIds = graph.getObjects(clazz, id, Device.class, Set.of(Group.class), false)
+                    .map(BaseModel::getId)
+                    .collect(Collectors.toUnmodifiableSet());
+        }
+        if (!deviceIds.isEmpty()) {
+            invalidateGeofenceIndexes(deviceIds::contains, geofenceIds -> false);
+        }
+    }
+
     public Position getPosition(long deviceId) {
         return devicePositions.get(deviceId);
     }
@@ -134,6 +201,7 @@ public class CacheManager implements BroadcastInterface {
                     devicePositions.put(deviceId, position);
                 }
             }
+            geofenceIndexes.devices.remove(deviceId);
         }
         references.add(key);
         LOGGER.debug("Cache add device {} references {} key {}", deviceId, references.size(), key);
@@ -146,6 +214,7 @@ public class CacheManager implements BroadcastInterface {
             graph.removeObject(Device.class, deviceId);
             devicePositions.remove(deviceId);
             deviceReferences.remove(deviceId);
+            geofenceIndexes.devices.remove(deviceId);
         }
         LOGGER.debug("Cache remove device {} references {} key {}", deviceId, references.size(), key);
     }
@@ -164,56 +233,71 @@ public class CacheManager implements BroadcastInterface {
             broadcastService.invalidateObject(true, clazz, id, operation);
         }
 
-        synchronized (this) {
-            if (operation == ObjectOperation.DELETE) {
-                graph.removeObject(clazz, id);
+        try {
+            synchronized (this) {
+                try {
+                    invalidateObject(clazz, id, operation);
+                } finally {
+                    invalidateGeofenceIndexes(clazz, id, operation);
+                }
             }
-            if (operation != ObjectOperation.UPDATE) {
-                return;
+        } finally {
+            for (BroadcastInterface listener : listeners) {
+                listener.invalidateObject(local, clazz, id, operation);
             }
+        }
+    }
 
-            if (clazz.equals(Server.class)) {
-                server = storage.getObject(Server.class, new Request(new Columns.All()));
-                return;
-            }
+    private <T extends BaseModel> void invalidateObject(
+            Class<T> clazz, long id, ObjectOperation operation) throws Exception {
+        if (operation == ObjectOperation.DELETE) {
+            graph.removeObject(clazz, id);
+        }
+        if (operation != ObjectOperation.UPDATE) {
+            return;
+        }
 
-            var after = storage.getObject(clazz, new Request(
-                    new Columns.All(), new Condition.Equals("id", id)));
-            if (after == null) {
-                return;
-            }
-            var before = getObject(after.getClass(), after.getId());
-            if (before == null) {
-                return;
-            }
+        if (clazz.equals(Server.class)) {
+            server = storage.getObject(Server.class, new Request(new Columns.All()));
+            return;
+        }
 
-            if (after instanceof GroupedModel) {
-                long beforeGroupId = ((GroupedModel) before).getGroupId();
-                long afterGroupId = ((GroupedModel) after).getGroupId();
-                if (beforeGroupId != afterGroupId) {
-                    if (beforeGroupId > 0) {
-                        invalidatePermission(clazz, id, Group.class, beforeGroupId, false);
-                    }
-                    if (afterGroupId > 0) {
-                        invalidatePermission(clazz, id, Group.class, afterGroupId, true);
-                    }
+        var after = storage.getObject(clazz, new Request(
+                new Columns.All(), new Condition.Equals("id", id)));
+        if (after == null) {
+            return;
+        }
+        var before = getObject(after.getClass(), after.getId());
+        if (before == null) {
+            return;
+        }
+
+        if (after instanceof GroupedModel) {
+            long beforeGroupId = ((GroupedModel) before).getGroupId();
+            long afterGroupId = ((GroupedModel) after).getGroupId();
+            if (beforeGroupId != afterGroupId) {
+                if (beforeGroupId > 0) {
+                    invalidatePermission(clazz, id, Group.class, beforeGroupId, false);
                 }
-            } else if (after instanceof Schedulable) {
-                long beforeCalendarId = ((Schedulable) before).getCalendarId();
-                long afterCalendarId = ((Schedulable) after).getCalendarId();
-                if (beforeCalendarId != afterCalendarId) {
-                    if (beforeCalendarId > 0) {
-                        invalidatePermission(clazz, id, Calendar.class, beforeCalendarId, false);
-                    }
-                    if (afterCalendarId > 0) {
-                        invalidatePermission(clazz, id, Calendar.class, afterCalendarId, true);
-                    }
+                if (afterGroupId > 0) {
+                    invalidatePermission(clazz, id, Group.class, afterGroupId, true);
                 }
-                // TODO handle notification always change
             }
-
-            graph.updateObject(after);
+        } else if (after instanceof Schedulable) {
+            long beforeCalendarId = ((Schedulable) before).getCalendarId();
+            long afterCalendarId = ((Schedulable) after).getCalendarId();
+            if (beforeCalendarId != afterCalendarId) {
+                if (beforeCalendarId > 0) {
+                    invalidatePermission(clazz, id, Calendar.class, beforeCalendarId, false);
+                }
+                if (afterCalendarId > 0) {
+                    invalidatePermission(clazz, id, Calendar.class, afterCalendarId, true);
+                }
+            }
+            // TODO handle notification always change
         }
+
+        graph.updateObject(after);
     }
 
     @Override
@@ -223,11 +307,17 @@ public class CacheManager implements BroadcastInterface {
             broadcastService.invalidatePermission(true, clazz1, id1, clazz2, id2, link);
         }
 
-        synchronized (this) {
-            if (clazz1.equals(User.class) && GroupedModel.class.isAssignableFrom(clazz2)) {
-                invalidatePermission(clazz2, id2, clazz1, id1, link);
-            } else {
-                invalidatePermission(clazz1, id1, clazz2, id2, link);
+        try {
+            synchronized (this) {
+                if (clazz1.equals(User.class) && GroupedModel.class.isAssignableFrom(clazz2)) {
+                    invalidatePermission(clazz2, id2, clazz1, id1, link);
+                } else {
+                    invalidatePermission(clazz1, id1, clazz2, id2, link);
+                }
+            }
+        } finally {
+            for (BroadcastInterface listener : listeners) {
+                listener.invalidatePermission(local, clazz1, id1, clazz2, id2, link);
             }
         }
     }
@@ -253,6 +343,11 @@ public class CacheManager implements BroadcastInterface {
         } else {
             graph.removeLink(fromClass, fromId, toClass, toId);
         }
+
+        if ((fromClass.equals(Device.class) || fromClass.equals(Group.class))
+                && (toClass.equals(Geofence.class) || toClass.equals(Group.class))) {
+            invalidateGeofenceIndexes(fromClass, fromId);
+        }
     }
 
     private void initializeCache(BaseModel object) throws Exception {
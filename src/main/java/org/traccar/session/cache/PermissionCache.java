@@ -0,0 +1,119 @@
+/*
+ * Copyright 2025 Anton Tananaev (anton@traccar.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.traccar.session.cache;
+
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+import org.traccar.broadcast.BroadcastInterface;
+import org.traccar.config.Config;
+import org.traccar.config.Keys;
+import org.traccar.model.BaseModel;
+import org.traccar.model.Group;
+import org.traccar.model.GroupedModel;
+import org.traccar.model.ManagedUser;
+import org.traccar.model.ObjectOperation;
+import org.traccar.model.User;
+import org.traccar.storage.Storage;
+import org.traccar.storage.StorageException;
+import org.traccar.storage.query.Columns;
+import org.traccar.storage.query.Condition;
+import org.traccar.storage.query.Request;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Process-wide cache of object ids each user can access, including access granted through groups. Entries are
+ * loaded with one permission query per user and class, and dropped on permission or group changes, both local and
+ * received through the broadcast service. Entries also expire after a configured time in case an invalidation is
+ * missed.
+ */
+@Singleton
+public class PermissionCache implements BroadcastInterface {
+
+    private record Key(long userId, Class<?> clazz) {
+    }
+
+    private record Entry(long[] ids, long expires) {
+    }
+
+    private final Storage storage;
+    private final long ttl;
+    private final Map<Key, Entry> entries = new ConcurrentHashMap<>();
+
+    private long generation;
+
+    @Inject
+    public PermissionCache(Config config, Storage storage, CacheManager cacheManager) {
+        this.storage = storage;
+        ttl = TimeUnit.SECONDS.toMillis(config.getLong(Keys.WEB_PERMISSION_CACHE_TTL));
+        cacheManager.registerListener(this);
+    }
+
+    public boolean hasPermission(Class<? extends BaseModel> clazz, long userId, long objectId) throws StorageException {
+        Key key = new Key(userId, clazz);
+        Entry entry = entries.get(key);
+        long[] ids;
+        if (entry != null && entry.expires() >= System.currentTimeMillis()) {
+            ids = entry.ids();
+        } else {
+            long loadGeneration;
+            synchronized (this) {
+                loadGeneration = generation;
+            }
+            ids = storage.getObjects(clazz, new Request(
+                    new Columns.Include("id"),
+                    new Condition.Permission(
+                            User.class, userId, clazz.equals(User.class) ? ManagedUser.class : clazz)))
+                    .stream().mapToLong(BaseModel::getId).sorted().toArray();
+            synchronized (this) {
+                if (generation == loadGeneration) {
+                    entries.put(key, new Entry(ids, System.currentTimeMillis() + ttl));
+                }
+            }
+        }
+        return Arrays.binarySearch(ids, objectId) >= 0;
+    }
+
+    public synchronized void invalidate() {
+        generation += 1;
+        entries.clear();
+    }
+
+    private synchronized void invalidate(Class<?> clazz) {
+        generation += 1;
+        entries.keySet().removeIf(key -> key.clazz().equals(clazz));
+    }
+
+    @Override
+    public <T extends BaseModel> void invalidateObject(
+            boolean local, Class<T> clazz, long id, ObjectOperation operation) {
+        if (operation == ObjectOperation.DELETE || clazz.equals(Group.class)) {
+            invalidate();
+        } else if (GroupedModel.class.isAssignableFrom(clazz)) {
+            invalidate(clazz);
+        }
+    }
+
+    @Override
+    public <T1 extends BaseModel, T2 extends BaseModel> void invalidatePermission(
+            boolean local, Class<T1> clazz1, long id1, Class<T2> clazz2, long id2, boolean link) {
+        invalidate();
+    }
+
+}
@@ -0,0 +1,159 @@
+/*
+ * Copyright 2025 Anton Tananaev (anton@traccar.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.traccar.session.cache;
+
+import org.traccar.broadcast.BroadcastInterface;
+import org.traccar.config.Config;
+import org.traccar.config.Keys;
+import org.traccar.database.MetricsManager;
+import org.traccar.model.BaseModel;
+import org.traccar.model.Device;
+import org.traccar.model.ObjectOperation;
+import org.traccar.model.Position;
+import org.traccar.storage.Storage;
+import org.traccar.storage.StorageException;
+import org.traccar.storage.query.Columns;
+import org.traccar.storage.query.Condition;
+import org.traccar.storage.query.Order;
+import org.traccar.storage.query.Request;
+
+import java.util.Date;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Keeps the most recent stored positions of each device ordered by fix time, so the position preceding a fix can be
+ * found without a database query. Every position newer than the window floor is known to be in the window, so lookups
+ * at or above the floor are exact. Older fixes fall back to the database. Windows are dropped when the device is
+ * deleted or has not been used for an hour.
+ */
+public class RecentPositionCache implements BroadcastInterface {
+
+    private static final long EXPIRATION = TimeUnit.HOURS.toMillis(1);
+
+    private static final class Window {
+
+        private final TreeMap<Long, Position> positions = new TreeMap<>();
+        private long floor = Long.MIN_VALUE;
+        private boolean loaded;
+        private volatile long lastAccess = System.currentTimeMillis();
+
+        private void put(Position position, int capacity) {
+            long time = position.getFixTime().getTime();
+            if (time < floor) {
+                return;
+            }
+            positions.put(time, position);
+            while (positions.size() > capacity) {
+                positions.pollFirstEntry();
+                floor = positions.firstKey();
+            }
+        }
+
+        private void load(Position latest, int capacity) {
+            if (latest != null && latest.getFixTime() != null) {
+                put(latest, capacity);
+                floor = Math.max(floor, latest.getFixTime().getTime());
+            }
+            loaded = true;
+        }
+    }
+
+    private final Storage storage;
+    private final int capacity;
+    private final Map<Long, Window> windows = new ConcurrentHashMap<>();
+    private volatile long nextExpiration = System.currentTimeMillis() + EXPIRATION;
+
+    private final LongAdder hits;
+    private final LongAdder misses;
+
+    public RecentPositionCache(
+            Config config, Storage storage, MetricsManager metricsManager, CacheManager cacheManager) {
+        this.storage = storage;
+        capacity = Math.max(config.getInteger(Keys.FILTER_RELATIVE_WINDOW), 1);
+        hits = metricsManager.counter(
+                "traccar_filter_preceding_hits_total", "Preceding positions found in memory", null, null);
+        misses = metricsManager.counter(
+                "traccar_filter_preceding_misses_total", "Preceding positions loaded from database", null, null);
+        cacheManager.registerListener(this);
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    private Window getWindow(long deviceId) {
+        long currentTime = System.currentTimeMillis();
+        if (currentTime >= nextExpiration) {
+            nextExpiration = currentTime + EXPIRATION;
+            windows.values().removeIf(window -> window.lastAccess < currentTime - EXPIRATION);
+        }
+        Window window = windows.computeIfAbsent(deviceId, key -> new Window());
+        window.lastAccess = currentTime;
+        return window;
+    }
+
+    public void add(Position position) {
+        if (position.getFixTime() != null) {
+            Window window = getWindow(position.getDeviceId());
+            synchronized (window) {
+                window.put(position, capacity);
+            }
+        }
+    }
+
+    public Position getPreceding(long deviceId, Date date) throws StorageException {
+        Window window = getWindow(deviceId);
+        synchronized (window) {
+            boolean cached = window.loaded;
+            if (!cached) {
+                window.load(loadPreceding(deviceId, null), capacity);
+            }
+            if (date.getTime() >= window.floor) {
+                (cached ? hits : misses).increment();
+                var entry = window.positions.floorEntry(date.getTime());
+                return entry != null ? entry.getValue() : null;
+            }
+        }
+        misses.increment();
+        return loadPreceding(deviceId, date);
+    }
+
+    private Position loadPreceding(long deviceId, Date date) throws StorageException {
+        Condition condition = new Condition.Equals("deviceId", deviceId);
+        if (date != null) {
+            condition = new Condition.And(condition, new Condition.Compare("fixTime", "<=", date));
+        }
+        return storage.getObject(Position.class, new Request(
+                new Columns.All(), condition, new Order("fixTime", true, 1)));
+    }
+
+    @Override
+    public <T extends BaseModel> void invalidateObject(
+            boolean local, Class<T> clazz, long id, ObjectOperation operation) {
+        if (clazz.equals(Device.class) && operation == ObjectOperation.DELETE) {
+            windows.remove(id);
+        }
+    }
+
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2022 Anton Tananaev (anton@traccar.org)
+ * Copyright 2022 - 2025 Anton Tananaev (anton@traccar.org)
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -19,6 +19,7 @@ import com.google.inject.AbstractModule;
 import com.google.inject.Provides;
 import com.zaxxer.hikari.HikariConfig;
 import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.IMetricsTracker;
 import liquibase.Contexts;
 import liquibase.Liquibase;
 import liquibase.database.Database;
@@ -29,6 +30,8 @@ import liquibase.resource.DirectoryResourceAccessor;
 import liquibase.resource.ResourceAccessor;
 import org.traccar.config.Config;
 import org.traccar.config.Keys;
+import org.traccar.database.MetricsManager;
+import org.traccar.helper.LatencyHistogram;
 
 import jakarta.inject.Singleton;
 import javax.sql.DataSource;
@@ -36,13 +39,16 @@ import java.io.File;
 import java.io.IOException;
 import java.lang.reflect.Method;
 import java.net.URL;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
 
 public class DatabaseModule extends AbstractModule {
 
     @Singleton
     @Provides
     public static DataSource provideDataSource(
-            Config config) throws ReflectiveOperationException, IOException, LiquibaseException {
+            Config config, MetricsManager metricsManager)
+            throws ReflectiveOperationException, IOException, LiquibaseException {
 
         String driverFile = config.getString(Keys.DATABASE_DRIVER_FILE);
         if (driverFile != null) {
@@ -77,6 +83,41 @@ public class DatabaseModule extends AbstractModule {
             hikariConfig.setMaximumPoolSize(maxPoolSize);
         }
 
+        hikariConfig.setMetricsTrackerFactory((poolName, poolStats) -> {
+            metricsManager.gauge(
+                    "traccar_database_connections_active", "Database connections in use",
+                    poolStats::getActiveConnections);
+            metricsManager.gauge(
+                    "traccar_database_connections_idle", "Idle database connections",
+                    poolStats::getIdleConnections);
+            metricsManager.gauge(
+                    "traccar_database_connections_pending", "Threads waiting for a database connection",
+                    poolStats::getPendingThreads);
+            LatencyHistogram acquireTime = metricsManager.histogram(
+                    "traccar_database_connection_wait_seconds", "Time waiting for a database connection", null, null);
+            LatencyHistogram usageTime = metricsManager.histogram(
+                    "traccar_database_connection_usage_seconds", "Time a database connection is in use", null, null);
+            LongAdder timeouts = metricsManager.counter(
+                    "traccar_database_connection_timeouts_total", "Database connection acquisition timeouts",
+                    null, null);
+            return new IMetricsTracker() {
+                @Override
+                public void recordConnectionAcquiredNanos(long elapsedAcquiredNanos) {
+                    acquireTime.record(elapsedAcquiredNanos);
+                }
+
+                @Override
+                public void recordConnectionUsageMillis(long elapsedBorrowedMillis) {
+                    usageTime.record(TimeUnit.MILLISECONDS.toNanos(elapsedBorrowedMillis));
+                }
+
+                @Override
+                public void recordConnectionTimeout() {
+                    timeouts.increment();
+                }
+            };
+        });
+
         DataSource dataSource = new HikariDataSource(hikariConfig);
 
         String changelog = config.getString(Keys.DATABASE_CHANGELOG);
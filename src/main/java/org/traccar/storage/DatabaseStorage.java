@@ -16,6 +16,8 @@
 package org.traccar.storage;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.traccar.config.Config;
 import org.traccar.model.BaseModel;
 import org.traccar.model.Device;
@@ -31,6 +33,7 @@ import jakarta.inject.Inject;
 import javax.sql.DataSource;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.function.Function;
@@ -39,6 +42,8 @@ import java.util.stream.Stream;
 
 public class DatabaseStorage extends Storage {
 
+    private static final Logger LOGGER = LoggerFactory.getLogger(DatabaseStorage.class);
+
     private final Config config;
     private final DataSource dataSource;
     private final ObjectMapper objectMapper;
@@ -106,6 +111,39 @@ public class DatabaseStorage extends Storage {
         }
     }
 
+    @Override
+    public <T> List<Long> addObjects(List<T> entities, Request request) throws StorageException {
+        if (entities.isEmpty()) {
+            return List.of();
+        }
+        if (databaseType.equals("Microsoft SQL Server")) {
+            return super.addObjects(entities, request); // batch generated keys are not supported
+        }
+        List<String> columns = request.getColumns().getColumns(entities.get(0).getClass(), "get");
+        StringBuilder query = new StringBuilder("INSERT INTO ");
+        query.append(getStorageName(entities.get(0).getClass()));
+        query.append("(");
+        query.append(formatColumns(columns, c -> c));
+        query.append(") VALUES (");
+        query.append(formatColumns(columns, c -> "?"));
+        query.append(")");
+        try {
+            QueryBuilder builder = QueryBuilder.create(config, dataSource, objectMapper, query.toString(), true);
+            for (T entity : entities) {
+                builder.setObject(entity, columns);
+                builder.addBatch();
+            }
+            List<Long> result = builder.executeBatch();
+            if (result == null) {
+                LOGGER.warn("Batch insert did not return all generated keys, inserting rows individually");
+                return super.addObjects(entities, request);
+            }
+            return result;
+        } catch (SQLException e) {
+            throw new StorageException(e);
+        }
+    }
+
     @Override
     public <T> void updateObject(T entity, Request request) throws StorageException {
         List<String> columns = request.getColumns().getColumns(entity.getClass(), "get");
@@ -127,6 +165,30 @@ public class DatabaseStorage extends Storage {
         }
     }
 
+    @Override
+    public <T extends BaseModel> void updateObjects(List<T> entities, Columns columns) throws StorageException {
+        if (entities.isEmpty()) {
+            return;
+        }
+        List<String> columnNames = columns.getColumns(entities.get(0).getClass(), "get");
+        StringBuilder query = new StringBuilder("UPDATE ");
+        query.append(getStorageName(entities.get(0).getClass()));
+        query.append(" SET ");
+        query.append(formatColumns(columnNames, c -> c + " = ?"));
+        query.append(" WHERE id = ?");
+        try {
+            QueryBuilder builder = QueryBuilder.create(config, dataSource, objectMapper, query.toString());
+            for (T entity : entities) {
+                builder.setObject(entity, columnNames);
+                builder.setLong(columnNames.size(), entity.getId());
+                builder.addBatch();
+            }
+            builder.executeBatch();
+        } catch (SQLException e) {
+            throw new StorageException(e);
+        }
+    }
+
     @Override
     public void removeObject(Class<?> clazz, Request request) throws StorageException {
         StringBuilder query = new StringBuilder("DELETE FROM ");
@@ -223,6 +285,8 @@ public class DatabaseStorage extends Storage {
         } else if (genericCondition instanceof Condition.Between condition) {
             results.add(condition.getFromValue());
             results.add(condition.getToValue());
+        } else if (genericCondition instanceof Condition.In condition) {
+            results.addAll(condition.getValues());
         } else if (genericCondition instanceof Condition.Binary condition) {
             results.addAll(getConditionVariables(condition.getFirst()));
             results.addAll(getConditionVariables(condition.getSecond()));
@@ -266,6 +330,17 @@ public class DatabaseStorage extends Storage {
                 result.append(condition.getColumn());
                 result.append(" BETWEEN ? AND ?");
 
+            } else if (genericCondition instanceof Condition.In condition) {
+
+                if (condition.getValues().isEmpty()) {
+                    result.append("1 = 0");
+                } else {
+                    result.append(condition.getColumn());
+                    result.append(" IN (");
+                    result.append(String.join(", ", Collections.nCopies(condition.getValues().size(), "?")));
+                    result.append(")");
+                }
+
             } else if (genericCondition instanceof Condition.Binary condition) {
 
                 if (genericCondition instanceof Condition.Or) {
@@ -87,6 +87,11 @@ public class MemoryStorage extends Storage {
             int toResult = ((Comparable) toValue).compareTo(condition.getToValue());
             return fromResult >= 0 && toResult <= 0;
 
+        } else if (genericCondition instanceof Condition.In condition) {
+
+            Object value = retrieveValue(object, condition.getColumn());
+            return condition.getValues().stream().anyMatch(item -> ((Comparable) value).compareTo(item) == 0);
+
         } else if (genericCondition instanceof Condition.Binary condition) {
 
             if (condition.getOperator().equals("AND")) {
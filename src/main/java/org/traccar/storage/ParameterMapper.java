@@ -0,0 +1,131 @@
+/*
+ * Copyright 2025 Anton Tananaev (anton@traccar.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.traccar.storage;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.traccar.helper.ReflectionCache;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.sql.SQLException;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+
+/**
+ * Sets statement parameters from object properties. A mapper is built once for each class and column list and reads
+ * properties through generated lambdas instead of reflective calls.
+ */
+final class ParameterMapper {
+
+    private record Key(Class<?> clazz, List<String> columns) {
+    }
+
+    private static final Map<Key, ParameterMapper> CACHE = new ConcurrentHashMap<>();
+
+    interface BooleanGetter {
+        boolean applyAsBoolean(Object object);
+    }
+
+    private interface ColumnWriter {
+        void write(
+                QueryBuilder builder, int index, Object object,
+                ObjectMapper objectMapper) throws SQLException, JsonProcessingException;
+    }
+
+    private final ColumnWriter[] writers;
+
+    private ParameterMapper(Class<?> clazz, List<String> columns) {
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+        var getters = ReflectionCache.getProperties(clazz, "get");
+        writers = new ColumnWriter[columns.size()];
+        try {
+            for (int i = 0; i < columns.size(); i++) {
+                String column = columns.get(i);
+                writers[i] = createWriter(lookup, getters.get(column).method(), column.endsWith("Id"));
+            }
+        } catch (IllegalAccessException e) {
+            throw new IllegalArgumentException(e);
+        }
+    }
+
+    static ParameterMapper get(Class<?> clazz, List<String> columns) {
+        return CACHE.computeIfAbsent(
+                new Key(clazz, List.copyOf(columns)), key -> new ParameterMapper(clazz, key.columns()));
+    }
+
+    void write(QueryBuilder builder, Object object, ObjectMapper objectMapper)
+            throws SQLException, JsonProcessingException {
+        for (int index = 0; index < writers.length; index++) {
+            writers[index].write(builder, index, object, objectMapper);
+        }
+    }
+
+    private static <I> I createGetter(MethodHandles.Lookup lookup, Class<I> type, String name, MethodHandle handle) {
+        Class<?> valueType = handle.type().returnType();
+        MethodType instantiatedType = handle.type();
+        if (!valueType.isPrimitive()) {
+            valueType = Object.class;
+        } else if (type == Function.class) {
+            valueType = Object.class;
+            instantiatedType = instantiatedType.wrap();
+        }
+        return RowMapper.createLambda(
+                lookup, type, name, MethodType.methodType(valueType, Object.class), handle, instantiatedType);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ColumnWriter createWriter(
+            MethodHandles.Lookup lookup, Method method, boolean nullIfZero) throws IllegalAccessException {
+        MethodHandle handle = lookup.unreflect(method);
+        Class<?> returnType = method.getReturnType();
+        if (returnType.equals(boolean.class)) {
+            BooleanGetter getter = createGetter(lookup, BooleanGetter.class, "applyAsBoolean", handle);
+            return (builder, index, object, objectMapper) -> builder.setBoolean(index, getter.applyAsBoolean(object));
+        } else if (returnType.equals(int.class)) {
+            ToIntFunction<Object> getter = createGetter(lookup, ToIntFunction.class, "applyAsInt", handle);
+            return (builder, index, object, objectMapper) -> builder.setInteger(index, getter.applyAsInt(object));
+        } else if (returnType.equals(long.class)) {
+            ToLongFunction<Object> getter = createGetter(lookup, ToLongFunction.class, "applyAsLong", handle);
+            return (builder, index, object, objectMapper) ->
+                    builder.setLong(index, getter.applyAsLong(object), nullIfZero);
+        } else if (returnType.equals(double.class)) {
+            ToDoubleFunction<Object> getter = createGetter(lookup, ToDoubleFunction.class, "applyAsDouble", handle);
+            return (builder, index, object, objectMapper) -> builder.setDouble(index, getter.applyAsDouble(object));
+        }
+
+        Function<Object, Object> getter = createGetter(lookup, Function.class, "apply", handle);
+        if (returnType.equals(String.class)) {
+            return (builder, index, object, objectMapper) -> builder.setString(index, (String) getter.apply(object));
+        } else if (returnType.equals(Date.class)) {
+            return (builder, index, object, objectMapper) -> builder.setDate(index, (Date) getter.apply(object));
+        } else if (returnType.equals(byte[].class)) {
+            return (builder, index, object, objectMapper) -> builder.setBlob(index, (byte[]) getter.apply(object));
+        } else {
+            return (builder, index, object, objectMapper) ->
+                    builder.setString(index, objectMapper.writeValueAsString(getter.apply(object)));
+        }
+    }
+
+}
@@ -21,12 +21,9 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.traccar.config.Config;
 import org.traccar.config.Keys;
-import org.traccar.helper.ReflectionCache;
 import org.traccar.model.Permission;
 
 import javax.sql.DataSource;
-import java.io.IOException;
-import java.lang.reflect.Method;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
@@ -182,68 +179,16 @@ public final class QueryBuilder {
 
     public QueryBuilder setObject(Object object, List<String> columns) throws SQLException {
         try {
-            for (int index = 0; index < columns.size(); index++) {
-                String column = columns.get(index);
-                Method method = ReflectionCache.getProperties(object.getClass(), "get").get(column).method();
-                if (method.getReturnType().equals(boolean.class)) {
-                    setBoolean(index, (Boolean) method.invoke(object));
-                } else if (method.getReturnType().equals(int.class)) {
-                    setInteger(index, (Integer) method.invoke(object));
-                } else if (method.getReturnType().equals(long.class)) {
-                    setLong(index, (Long) method.invoke(object), column.endsWith("Id"));
-                } else if (method.getReturnType().equals(double.class)) {
-                    setDouble(index, (Double) method.invoke(object));
-                } else if (method.getReturnType().equals(String.class)) {
-                    setString(index, (String) method.invoke(object));
-                } else if (method.getReturnType().equals(Date.class)) {
-                    setDate(index, (Date) method.invoke(object));
-                } else if (method.getReturnType().equals(byte[].class)) {
-                    setBlob(index, (byte[]) method.invoke(object));
-                } else {
-                    setString(index, objectMapper.writeValueAsString(method.invoke(object)));
-                }
-            }
-        } catch (ReflectiveOperationException | JsonProcessingException e) {
+            ParameterMapper.get(object.getClass(), columns).write(this, object, objectMapper);
+        } catch (JsonProcessingException e) {
             LOGGER.warn("Set object error", e);
         }
 
         return this;
     }
 
-    private interface ResultSetProcessor<T> {
-        void process(T object, ResultSet resultSet) throws ReflectiveOperationException, IOException, SQLException;
-    }
-
-    private <T> void addProcessors(
-            List<ResultSetProcessor<T>> processors,
-            final Class<?> parameterType, final Method method, final String name) {
-        if (parameterType.equals(boolean.class)) {
-            processors.add((object, resultSet) -> method.invoke(object, resultSet.getBoolean(name)));
-        } else if (parameterType.equals(int.class)) {
-            processors.add((object, resultSet) -> method.invoke(object, resultSet.getInt(name)));
-        } else if (parameterType.equals(long.class)) {
-            processors.add((object, resultSet) -> method.invoke(object, resultSet.getLong(name)));
-        } else if (parameterType.equals(double.class)) {
-            processors.add((object, resultSet) -> method.invoke(object, resultSet.getDouble(name)));
-        } else if (parameterType.equals(String.class)) {
-            processors.add((object, resultSet) -> method.invoke(object, resultSet.getString(name)));
-        } else if (parameterType.equals(Date.class)) {
-            processors.add((object, resultSet) -> {
-                Timestamp timestamp = resultSet.getTimestamp(name);
-                if (timestamp != null) {
-                    method.invoke(object, new Date(timestamp.getTime()));
-                }
-            });
-        } else if (parameterType.equals(byte[].class)) {
-            processors.add((object, resultSet) -> method.invoke(object, (Object) resultSet.getBytes(name)));
-        } else {
-            processors.add((object, resultSet) -> {
-                String value = resultSet.getString(name);
-                if (value != null && !value.isEmpty()) {
-                    method.invoke(object, objectMapper.readValue(value, parameterType));
-                }
-            });
-        }
+    public QueryBuilder addBatch() throws SQLException {
+        return setValue(() -> statement.addBatch());
     }
 
     private void logQuery() {
@@ -267,23 +212,7 @@ public final class QueryBuilder {
             logQuery();
 
             resultSet = statement.executeQuery();
-            ResultSetMetaData resultMetaData = resultSet.getMetaData();
-
-            List<ResultSetProcessor<T>> processors = new ArrayList<>();
-            for (var entry : ReflectionCache.getProperties(clazz, "set").entrySet()) {
-                final String name = entry.getKey();
-                boolean column = false;
-                for (int i = 1; i <= resultMetaData.getColumnCount(); i++) {
-                    if (name.equalsIgnoreCase(resultMetaData.getColumnLabel(i))) {
-                        column = true;
-                        break;
-                    }
-                }
-                if (column) {
-                    Method method = entry.getValue().method();
-                    addProcessors(processors, method.getParameterTypes()[0], method, name);
-                }
-            }
+            RowMapper<T> mapper = RowMapper.get(clazz, resultSet.getMetaData());
 
             final ResultSet retainedResultSet = resultSet;
             return StreamSupport.stream(
@@ -292,20 +221,12 @@ public final class QueryBuilder {
                         public boolean tryAdvance(Consumer<? super T> action) {
                             try {
                                 if (retainedResultSet.next()) {
-                                    T object = clazz.getDeclaredConstructor().newInstance();
-                                    for (ResultSetProcessor<T> processor : processors) {
-                                        try {
-                                            processor.process(object, retainedResultSet);
-                                        } catch (ReflectiveOperationException | IOException error) {
-                                            LOGGER.warn("Set property error", error);
-                                        }
-                                    }
-                                    action.accept(object);
+                                    action.accept(mapper.map(retainedResultSet, objectMapper));
                                     return true;
                                 } else {
                                     return false;
                                 }
-                            } catch (SQLException | ReflectiveOperationException e) {
+                            } catch (SQLException e) {
                                 throw new RuntimeException(e);
                             }
                         }
@@ -349,6 +270,44 @@ public final class QueryBuilder {
         return 0;
     }
 
+    /**
+     * Executes the batch in one transaction. When generated keys are requested and the driver does not return one key
+     * per row, the batch is rolled back and null is returned.
+     */
+    public List<Long> executeBatch() throws SQLException {
+        List<Long> result = new ArrayList<>();
+        if (query != null) {
+            try {
+                logQuery();
+                connection.setAutoCommit(false);
+                try {
+                    int rows = statement.executeBatch().length;
+                    if (returnGeneratedKeys) {
+                        try (ResultSet resultSet = statement.getGeneratedKeys()) {
+                            while (resultSet.next()) {
+                                result.add(resultSet.getLong(1));
+                            }
+                        }
+                        if (result.size() != rows) {
+                            connection.rollback();
+                            return null;
+                        }
+                    }
+                    connection.commit();
+                } catch (SQLException error) {
+                    connection.rollback();
+                    throw error;
+                } finally {
+                    connection.setAutoCommit(true);
+                }
+            } finally {
+                statement.close();
+                connection.close();
+            }
+        }
+        return result;
+    }
+
     public List<Permission> executePermissionsQuery() throws SQLException {
         List<Permission> result = new LinkedList<>();
         if (query != null) {
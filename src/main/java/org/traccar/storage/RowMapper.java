@@ -0,0 +1,185 @@
+/*
+ * Copyright 2025 Anton Tananaev (anton@traccar.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.traccar.storage;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.traccar.helper.ReflectionCache;
+
+import java.io.IOException;
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+import java.util.function.ObjDoubleConsumer;
+import java.util.function.ObjIntConsumer;
+import java.util.function.ObjLongConsumer;
+import java.util.function.Supplier;
+
+/**
+ * Maps result set rows to model objects. A mapper is built once for each class and column list. It reads columns by
+ * index and sets properties through generated lambdas instead of reflective calls.
+ */
+final class RowMapper<T> {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(RowMapper.class);
+
+    private record Key(Class<?> clazz, List<String> columns) {
+    }
+
+    private static final Map<Key, RowMapper<?>> CACHE = new ConcurrentHashMap<>();
+
+    interface BooleanSetter {
+        void accept(Object object, boolean value);
+    }
+
+    private interface ColumnReader {
+        void read(Object object, ResultSet resultSet, ObjectMapper objectMapper) throws SQLException, IOException;
+    }
+
+    private final Supplier<Object> constructor;
+    private final ColumnReader[] readers;
+
+    private RowMapper(Class<T> clazz, List<String> columns) {
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            MethodHandle constructorHandle = lookup.unreflectConstructor(clazz.getConstructor());
+            constructor = createLambda(
+                    lookup, Supplier.class, "get", MethodType.methodType(Object.class), constructorHandle,
+                    constructorHandle.type());
+            List<ColumnReader> readerList = new ArrayList<>();
+            for (var entry : ReflectionCache.getProperties(clazz, "set").entrySet()) {
+                int index = -1;
+                for (int i = 0; i < columns.size(); i++) {
+                    if (entry.getKey().equalsIgnoreCase(columns.get(i))) {
+                        index = i + 1;
+                        break;
+                    }
+                }
+                if (index > 0) {
+                    readerList.add(createReader(lookup, entry.getValue().method(), index));
+                }
+            }
+            readers = readerList.toArray(new ColumnReader[0]);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalArgumentException(e);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    static <T> RowMapper<T> get(Class<T> clazz, ResultSetMetaData metaData) throws SQLException {
+        List<String> columns = new ArrayList<>(metaData.getColumnCount());
+        for (int i = 1; i <= metaData.getColumnCount(); i++) {
+            columns.add(metaData.getColumnLabel(i));
+        }
+        return (RowMapper<T>) CACHE.computeIfAbsent(
+                new Key(clazz, columns), key -> new RowMapper<>(clazz, key.columns()));
+    }
+
+    @SuppressWarnings("unchecked")
+    T map(ResultSet resultSet, ObjectMapper objectMapper) throws SQLException {
+        Object object = constructor.get();
+        for (ColumnReader reader : readers) {
+            try {
+                reader.read(object, resultSet, objectMapper);
+            } catch (IOException | RuntimeException error) {
+                LOGGER.warn("Set property error", error);
+            }
+        }
+        return (T) object;
+    }
+
+    /**
+     * Generate a functional interface implementation that calls the given method handle directly.
+     */
+    static <I> I createLambda(
+            MethodHandles.Lookup lookup, Class<I> type, String name, MethodType samType, MethodHandle handle,
+            MethodType instantiatedType) {
+        try {
+            CallSite callSite = LambdaMetafactory.metafactory(
+                    lookup, name, MethodType.methodType(type), samType, handle, instantiatedType);
+            return type.cast(callSite.getTarget().invoke());
+        } catch (Throwable e) {
+            throw new IllegalStateException("Accessor generation failed for " + handle, e);
+        }
+    }
+
+    private static <I> I createSetter(
+            MethodHandles.Lookup lookup, Class<I> type, Class<?> valueType, MethodHandle handle) {
+        MethodType instantiatedType = handle.type().changeReturnType(void.class);
+        if (!valueType.isPrimitive()) {
+            instantiatedType = instantiatedType.wrap().changeReturnType(void.class);
+        }
+        return createLambda(
+                lookup, type, "accept", MethodType.methodType(void.class, Object.class, valueType), handle,
+                instantiatedType);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ColumnReader createReader(
+            MethodHandles.Lookup lookup, Method method, int index) throws IllegalAccessException {
+        MethodHandle handle = lookup.unreflect(method);
+        Class<?> parameterType = method.getParameterTypes()[0];
+        if (parameterType.equals(boolean.class)) {
+            BooleanSetter setter = createSetter(lookup, BooleanSetter.class, boolean.class, handle);
+            return (object, resultSet, objectMapper) -> setter.accept(object, resultSet.getBoolean(index));
+        } else if (parameterType.equals(int.class)) {
+            ObjIntConsumer<Object> setter = createSetter(lookup, ObjIntConsumer.class, int.class, handle);
+            return (object, resultSet, objectMapper) -> setter.accept(object, resultSet.getInt(index));
+        } else if (parameterType.equals(long.class)) {
+            ObjLongConsumer<Object> setter = createSetter(lookup, ObjLongConsumer.class, long.class, handle);
+            return (object, resultSet, objectMapper) -> setter.accept(object, resultSet.getLong(index));
+        } else if (parameterType.equals(double.class)) {
+            ObjDoubleConsumer<Object> setter = createSetter(lookup, ObjDoubleConsumer.class, double.class, handle);
+            return (object, resultSet, objectMapper) -> setter.accept(object, resultSet.getDouble(index));
+        }
+
+        BiConsumer<Object, Object> setter = createSetter(lookup, BiConsumer.class, Object.class, handle);
+        if (parameterType.equals(String.class)) {
+            return (object, resultSet, objectMapper) -> setter.accept(object, resultSet.getString(index));
+        } else if (parameterType.equals(Date.class)) {
+            return (object, resultSet, objectMapper) -> {
+                Timestamp timestamp = resultSet.getTimestamp(index);
+                if (timestamp != null) {
+                    setter.accept(object, new Date(timestamp.getTime()));
+                }
+            };
+        } else if (parameterType.equals(byte[].class)) {
+            return (object, resultSet, objectMapper) -> setter.accept(object, resultSet.getBytes(index));
+        } else {
+            return (object, resultSet, objectMapper) -> {
+                String value = resultSet.getString(index);
+                if (value != null && !value.isEmpty()) {
+                    setter.accept(object, objectMapper.readValue(value, parameterType));
+                }
+            };
+        }
+    }
+
+}
@@ -0,0 +1,73 @@
+package org.traccar.api.security;
+
+import org.junit.jupiter.api.Test;
+import org.traccar.config.Config;
+import org.traccar.model.ObjectOperation;
+import org.traccar.model.RevokedToken;
+import org.traccar.model.User;
+import org.traccar.session.cache.CacheManager;
+
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+
+public class AuthenticationCacheTest {
+
+    private User createUser(long id) {
+        User user = new User();
+        user.setId(id);
+        return user;
+    }
+
+    @Test
+    public void testCache() {
+
+        var cache = new AuthenticationCache(new Config(), mock(CacheManager.class));
+        assertNotEquals(AuthenticationCache.getTokenKey("Bearer a"), AuthenticationCache.getTokenKey("Bearer b"));
+
+        String tokenKey = AuthenticationCache.getTokenKey("Bearer token");
+        String sessionKey = AuthenticationCache.getSessionKey("session");
+        LoginResult token = new LoginResult(createUser(1), new Date(System.currentTimeMillis() + 60000));
+        LoginResult session = new LoginResult(createUser(1));
+        cache.put(tokenKey, token);
+        cache.put(sessionKey, session);
+        assertSame(token, cache.get(tokenKey));
+        assertSame(session, cache.get(sessionKey));
+
+        cache.invalidateObject(false, RevokedToken.class, 10, ObjectOperation.ADD);
+        assertNull(cache.get(tokenKey));
+        assertSame(session, cache.get(sessionKey));
+
+        session.getUser().setDisabled(true);
+        assertThrows(SecurityException.class, () -> cache.get(sessionKey));
+
+        cache.invalidateObject(false, User.class, 1, ObjectOperation.UPDATE);
+        assertNull(cache.get(sessionKey));
+
+        cache.put(tokenKey, new LoginResult(createUser(2), new Date(System.currentTimeMillis() - 1000)));
+        assertNull(cache.get(tokenKey));
+
+    }
+
+    @Test
+    public void testPasswordUpdate() {
+
+        var cache = new AuthenticationCache(new Config(), mock(CacheManager.class));
+
+        String oldPasswordKey = AuthenticationCache.getTokenKey("Basic dXNlcjpvbGQ=");
+        String otherUserKey = AuthenticationCache.getTokenKey("Basic b3RoZXI6cGFzc3dvcmQ=");
+        LoginResult otherUser = new LoginResult(createUser(2));
+        cache.put(oldPasswordKey, new LoginResult(createUser(1)));
+        cache.put(otherUserKey, otherUser);
+
+        cache.invalidateObject(false, User.class, 1, ObjectOperation.UPDATE);
+        assertNull(cache.get(oldPasswordKey));
+        assertSame(otherUser, cache.get(otherUserKey));
+
+    }
+
+}
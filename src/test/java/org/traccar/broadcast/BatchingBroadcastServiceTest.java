@@ -0,0 +1,208 @@
+package org.traccar.broadcast;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.traccar.config.Config;
+import org.traccar.model.BaseModel;
+import org.traccar.model.Device;
+import org.traccar.model.ObjectOperation;
+import org.traccar.model.Position;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class BatchingBroadcastServiceTest {
+
+    private static class LoopbackBroadcastService extends BatchingBroadcastService {
+
+        private final List<LoopbackBroadcastService> nodes;
+
+        LoopbackBroadcastService(List<LoopbackBroadcastService> nodes) {
+            super(new Config(), new ObjectMapper(), 60000);
+            this.nodes = nodes;
+            nodes.add(this);
+        }
+
+        @Override
+        protected void publish(byte[] payload) {
+            for (LoopbackBroadcastService node : nodes) {
+                node.handlePayload(payload, 0, payload.length);
+            }
+        }
+
+        @Override
+        public void start() {
+            startPublisher();
+        }
+
+        @Override
+        public void stop() throws InterruptedException {
+            stopPublisher();
+        }
+
+    }
+
+    @Test
+    public void testDelivery() throws Exception {
+
+        List<LoopbackBroadcastService> nodes = new CopyOnWriteArrayList<>();
+        var sender = new LoopbackBroadcastService(nodes);
+        var receiver = new LoopbackBroadcastService(nodes);
+
+        List<Position> received = new CopyOnWriteArrayList<>();
+        List<Long> invalidated = new CopyOnWriteArrayList<>();
+        CountDownLatch latch = new CountDownLatch(2);
+        receiver.registerListener(new BroadcastInterface() {
+            @Override
+            public void updatePosition(boolean local, Position position) {
+                received.add(position);
+                latch.countDown();
+            }
+
+            @Override
+            public <T extends BaseModel> void invalidateObject(
+                    boolean local, Class<T> clazz, long id, ObjectOperation operation) {
+                invalidated.add(id);
+                latch.countDown();
+            }
+        });
+        sender.registerListener(new BroadcastInterface() {
+            @Override
+            public void updatePosition(boolean local, Position position) {
+                received.add(null);
+            }
+        });
+
+        Position position = new Position("test");
+        position.setDeviceId(2);
+        position.setTime(new Date(1000));
+        position.setLatitudeWgs84(10.5);
+        position.setLongitudeWgs84(-20.25);
+        position.setLatitude(10.5);
+        position.setLongitude(-20.25);
+        position.setGeofenceIds(List.of(3L, 4L));
+        position.set(Position.KEY_IGNITION, true);
+        position.set(Position.KEY_SATELLITES, 7);
+        position.set(Position.KEY_ODOMETER, 123456789012L);
+        position.set(Position.KEY_POWER, 12.5);
+        position.set(Position.KEY_DRIVER_UNIQUE_ID, "driver");
+
+        BroadcastMessage positionMessage = new BroadcastMessage();
+        positionMessage.setPosition(position);
+
+        receiver.updateInterest(Set.of(2L));
+        receiver.start();
+        sender.start();
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!sender.isRequired(positionMessage) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        sender.updatePosition(true, position);
+        sender.invalidateObject(true, Device.class, 5, ObjectOperation.UPDATE);
+
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        sender.stop();
+        receiver.stop();
+
+        assertEquals(1, received.size());
+        Position result = received.get(0);
+        assertEquals("test", result.getProtocol());
+        assertEquals(2, result.getDeviceId());
+        assertEquals(new Date(1000), result.getFixTime());
+        assertEquals(position.getServerTime(), result.getServerTime());
+        assertEquals(10.5, result.getLatitude());
+        assertEquals(-20.25, result.getLongitude());
+        assertEquals(10.5, result.getLatitudeWgs84());
+        assertEquals(-20.25, result.getLongitudeWgs84());
+        assertEquals(List.of(3L, 4L), result.getGeofenceIds());
+        assertEquals(true, result.getAttributes().get(Position.KEY_IGNITION));
+        assertEquals(7, result.getAttributes().get(Position.KEY_SATELLITES));
+        assertEquals(123456789012L, result.getAttributes().get(Position.KEY_ODOMETER));
+        assertEquals(12.5, result.getAttributes().get(Position.KEY_POWER));
+        assertEquals("driver", result.getAttributes().get(Position.KEY_DRIVER_UNIQUE_ID));
+        assertEquals(List.of(5L), invalidated);
+
+    }
+
+    @Test
+    public void testInterest() throws Exception {
+
+        List<LoopbackBroadcastService> nodes = new CopyOnWriteArrayList<>();
+        var sender = new LoopbackBroadcastService(nodes);
+        var receiver = new LoopbackBroadcastService(nodes);
+
+        Position watched = new Position("test");
+        watched.setDeviceId(1);
+        BroadcastMessage watchedMessage = new BroadcastMessage();
+        watchedMessage.setPosition(watched);
+
+        Position unwatched = new Position("test");
+        unwatched.setDeviceId(2);
+        BroadcastMessage unwatchedMessage = new BroadcastMessage();
+        unwatchedMessage.setPosition(unwatched);
+
+        Device device = new Device();
+        device.setId(2);
+        device.setStatus(Device.STATUS_ONLINE);
+        BroadcastMessage deviceMessage = new BroadcastMessage();
+        deviceMessage.setDevice(device);
+
+        assertFalse(sender.isRequired(watchedMessage));
+        assertTrue(sender.isRequired(deviceMessage));
+
+        receiver.updateInterest(Set.of(1L));
+        receiver.start();
+        sender.start();
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!sender.isRequired(watchedMessage) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        sender.stop();
+        receiver.stop();
+
+        assertTrue(sender.isRequired(watchedMessage));
+        assertFalse(sender.isRequired(unwatchedMessage));
+        assertTrue(sender.isRequired(deviceMessage));
+
+    }
+
+    @Test
+    public void testSplitBatches() throws Exception {
+
+        var codec = new BroadcastCodec(new ObjectMapper());
+        List<BroadcastMessage> messages = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            Position position = new Position("test");
+            position.setDeviceId(i);
+            position.set(Position.KEY_DRIVER_UNIQUE_ID, "driver" + i);
+            BroadcastMessage message = new BroadcastMessage();
+            message.setPosition(position);
+            messages.add(message);
+        }
+
+        List<byte[]> payloads = codec.encode("node", null, messages, 1000);
+        assertTrue(payloads.size() > 1);
+
+        int count = 0;
+        for (byte[] payload : payloads) {
+            assertTrue(payload.length <= 1000);
+            var batch = codec.decode(payload, 0, payload.length);
+            assertEquals("node", batch.sender());
+            for (BroadcastMessage message : batch.messages()) {
+                assertEquals(count++, message.getPosition().getDeviceId());
+            }
+        }
+        assertEquals(messages.size(), count);
+
+    }
+
+}
@@ -0,0 +1,39 @@
+package org.traccar.database;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class MetricsManagerTest {
+
+    @Test
+    public void testFormat() {
+
+        var metricsManager = new MetricsManager();
+
+        var counter = metricsManager.counter("test_total", "Test counter", "protocol", "osmand");
+        assertSame(counter, metricsManager.counter("test_total", "Test counter", "protocol", "osmand"));
+        counter.add(3);
+
+        metricsManager.gauge("test_gauge", "Test gauge", () -> 7);
+
+        var histogram = metricsManager.histogram("test_seconds", "Test histogram", "handler", "FilterHandler");
+        histogram.record(500);
+        histogram.record(TimeUnit.MILLISECONDS.toNanos(3));
+        histogram.record(TimeUnit.MINUTES.toNanos(1));
+
+        String result = metricsManager.format();
+
+        assertTrue(result.contains("# TYPE test_total counter\ntest_total{protocol=\"osmand\"} 3\n"));
+        assertTrue(result.contains("# TYPE test_gauge gauge\ntest_gauge 7\n"));
+        assertTrue(result.contains("test_seconds_bucket{handler=\"FilterHandler\",le=\"1.024E-6\"} 1\n"));
+        assertTrue(result.contains("test_seconds_bucket{handler=\"FilterHandler\",le=\"0.004194304\"} 2\n"));
+        assertTrue(result.contains("test_seconds_bucket{handler=\"FilterHandler\",le=\"+Inf\"} 3\n"));
+        assertTrue(result.contains("test_seconds_count{handler=\"FilterHandler\"} 3\n"));
+
+    }
+
+}
@@ -0,0 +1,58 @@
+package org.traccar.database;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.netty.util.Timer;
+import jakarta.ws.rs.client.Client;
+import org.junit.jupiter.api.Test;
+import org.traccar.config.Config;
+import org.traccar.storage.Storage;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+
+public class StatisticsManagerTest {
+
+    @Test
+    public void testConcurrentCounters() throws Exception {
+
+        var statisticsManager = new StatisticsManager(
+                new Config(), mock(Storage.class), mock(Client.class), mock(ObjectMapper.class), mock(Timer.class),
+                mock(ExecutorService.class));
+
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            long deviceId = i % 2 + 1;
+            Thread thread = new Thread(() -> {
+                for (int j = 0; j < 1000; j++) {
+                    statisticsManager.registerMessageReceived();
+                    statisticsManager.registerMessageStored(deviceId, "test");
+                    statisticsManager.registerRequest(deviceId);
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(8000, statisticsManager.messageStoredCount());
+        assertEquals(4000, statisticsManager.messageStoredCount(1));
+        assertEquals(4000, statisticsManager.messageStoredCount(2));
+        assertEquals(0, statisticsManager.messageStoredCount(3));
+
+        var snapshot = statisticsManager.getSnapshot();
+        assertEquals(8000, snapshot.getMessagesReceived());
+        assertEquals(8000, snapshot.getMessagesStored());
+        assertEquals(8000, snapshot.getRequests());
+        assertEquals(2, snapshot.getActiveUsers());
+        assertEquals(2, snapshot.getActiveDevices());
+        assertEquals(2, (int) snapshot.getProtocols().get("test"));
+
+    }
+
+}
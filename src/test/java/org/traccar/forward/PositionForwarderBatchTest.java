@@ -0,0 +1,119 @@
+package org.traccar.forward;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+import jakarta.ws.rs.client.Client;
+import jakarta.ws.rs.client.ClientBuilder;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.traccar.ProtocolTest;
+import org.traccar.config.Config;
+import org.traccar.config.Keys;
+import org.traccar.model.Device;
+
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class PositionForwarderBatchTest extends ProtocolTest {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(PositionForwarderBatchTest.class);
+
+    @Test
+    public void testThroughput() throws Exception {
+
+        int count = 10000;
+        int batchSize = 500;
+
+        AtomicInteger requests = new AtomicInteger();
+        AtomicInteger received = new AtomicInteger();
+        HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/", exchange -> {
+            requests.incrementAndGet();
+            try (var reader = new BufferedReader(
+                    new InputStreamReader(exchange.getRequestBody(), StandardCharsets.UTF_8))) {
+                reader.lines().filter(line -> !line.isEmpty()).forEach(line -> received.incrementAndGet());
+            }
+            exchange.sendResponseHeaders(204, -1);
+            exchange.close();
+        });
+        server.start();
+
+        Client client = ClientBuilder.newClient();
+        PositionForwarderBatch forwarder = null;
+        try {
+            Config config = new Config();
+            config.setString(Keys.FORWARD_URL, "http://127.0.0.1:" + server.getAddress().getPort() + "/");
+            config.setString(Keys.FORWARD_BATCH_FORMAT, "ndjson");
+            config.setString(Keys.FORWARD_BATCH_SIZE, String.valueOf(batchSize));
+            config.setString(Keys.FORWARD_BATCH_QUEUE, String.valueOf(count));
+
+            forwarder = new PositionForwarderBatch(config, client, new ObjectMapper());
+            forwarder.start();
+
+            Device device = new Device();
+            device.setId(1);
+            device.setName("test");
+            device.setUniqueId("123456789012345");
+
+            CountDownLatch latch = new CountDownLatch(count);
+            AtomicInteger failures = new AtomicInteger();
+            long start = System.nanoTime();
+            for (int i = 0; i < count; i++) {
+                PositionData positionData = new PositionData();
+                positionData.setPosition(position("2016-01-01 01:02:03.000", true, 20, 30));
+                positionData.setDevice(device);
+                forwarder.forward(positionData, (success, throwable) -> {
+                    if (!success) {
+                        failures.incrementAndGet();
+                    }
+                    latch.countDown();
+                });
+            }
+            assertTrue(latch.await(30, TimeUnit.SECONDS));
+            long elapsed = System.nanoTime() - start;
+
+            String throughput = count * 1_000_000_000L / Math.max(elapsed, 1) + " positions/s";
+            LOGGER.info("Batch forwarding throughput: {}", throughput);
+            assertEquals(0, failures.get(), throughput);
+            assertEquals(count, received.get(), throughput);
+            assertTrue(requests.get() <= count / batchSize * 2, throughput);
+        } finally {
+            if (forwarder != null) {
+                forwarder.stop();
+            }
+            client.close();
+            server.stop(0);
+        }
+
+    }
+
+    @Test
+    public void testStop() throws Exception {
+
+        Config config = new Config();
+        config.setString(Keys.FORWARD_URL, "http://127.0.0.1/");
+        var forwarder = new PositionForwarderBatch(config, null, new ObjectMapper());
+
+        AtomicInteger failures = new AtomicInteger();
+        forwarder.forward(new PositionData(), (success, throwable) -> failures.incrementAndGet());
+        forwarder.forward(new PositionData(), (success, throwable) -> failures.incrementAndGet());
+        assertEquals(0, failures.get());
+
+        forwarder.stop();
+        assertEquals(2, failures.get());
+
+        forwarder.forward(new PositionData(), (success, throwable) -> failures.incrementAndGet());
+        assertEquals(3, failures.get());
+
+    }
+
+}
@@ -0,0 +1,76 @@
+package org.traccar.forward;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.kafka.clients.producer.MockProducer;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.junit.jupiter.api.Test;
+import org.traccar.ProtocolTest;
+import org.traccar.config.Config;
+import org.traccar.config.Keys;
+import org.traccar.model.Device;
+import org.traccar.protobuf.forward.ForwardMessages;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class PositionForwarderKafkaTest extends ProtocolTest {
+
+    private PositionData createPositionData() throws Exception {
+        Device device = new Device();
+        device.setId(1);
+        device.setUniqueId("123456789012345");
+        device.setName("test");
+
+        PositionData positionData = new PositionData();
+        positionData.setDevice(device);
+        positionData.setPosition(position("2016-01-01 01:02:03.000", true, 20, 30));
+        positionData.getPosition().set("ignition", true);
+        return positionData;
+    }
+
+    @Test
+    public void testDeliveryResult() throws Exception {
+
+        var producer = new MockProducer<>(false, null, new StringSerializer(), new ByteArraySerializer());
+        var forwarder = new PositionForwarderKafka(new Config(), new ObjectMapper(), producer);
+
+        List<Boolean> results = new ArrayList<>();
+        forwarder.forward(createPositionData(), (success, throwable) -> results.add(success));
+        forwarder.forward(createPositionData(), (success, throwable) -> results.add(success));
+        assertTrue(results.isEmpty());
+
+        producer.completeNext();
+        producer.errorNext(new RuntimeException("Broker not available"));
+        assertEquals(List.of(true, false), results);
+        assertEquals("1", producer.history().get(0).key());
+
+    }
+
+    @Test
+    public void testProtobufFormat() throws Exception {
+
+        Config config = new Config();
+        config.setString(Keys.FORWARD_KAFKA_FORMAT, "protobuf");
+        var producer = new MockProducer<>(true, null, new StringSerializer(), new ByteArraySerializer());
+        var forwarder = new PositionForwarderKafka(config, new ObjectMapper(), producer);
+
+        PositionData positionData = createPositionData();
+        positionData.getPosition().setLatitudeWgs84(20);
+        positionData.getPosition().setLongitudeWgs84(30);
+        forwarder.forward(positionData, (success, throwable) -> assertTrue(success));
+
+        var message = ForwardMessages.PositionData.parseFrom(producer.history().get(0).value());
+        assertEquals("123456789012345", message.getDevice().getUniqueId());
+        assertEquals(20, message.getPosition().getLatitude(), 0.00001);
+        assertEquals(20, message.getPosition().getLatitudeWgs84(), 0.00001);
+        assertEquals(30, message.getPosition().getLongitudeWgs84(), 0.00001);
+        assertEquals(positionData.getPosition().getFixTime().getTime(), message.getPosition().getFixTime());
+        assertTrue(message.getPosition().getAttributesMap().get("ignition").getBooleanValue());
+
+    }
+
+}
@@ -0,0 +1,60 @@
+package org.traccar.forward;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class PositionSpoolTest {
+
+    private static byte[] record(int index) {
+        return ("record " + index).getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static long countSegments(Path directory) throws Exception {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> file.toString().endsWith(".spool")).count();
+        }
+    }
+
+    @Test
+    public void testAppendReadCommit() throws Exception {
+
+        Path directory = Files.createTempDirectory("spool");
+        var spool = new PositionSpool(directory, 100);
+        assertTrue(spool.isEmpty());
+
+        for (int i = 0; i < 20; i++) {
+            assertTrue(spool.append(record(i)));
+        }
+        assertFalse(spool.append(new byte[100]));
+        assertFalse(spool.isEmpty());
+        assertTrue(countSegments(directory) > 1);
+
+        List<byte[]> records = spool.read(5);
+        assertEquals(5, records.size());
+        assertEquals("record 0", new String(records.get(0), StandardCharsets.UTF_8));
+        assertEquals("record 0", new String(spool.read(5).get(0), StandardCharsets.UTF_8));
+        spool.commit();
+
+        spool = new PositionSpool(directory, 100);
+        spool.append(record(20));
+        for (int i = 5; i <= 20; i++) {
+            records = spool.read(1);
+            assertEquals("record " + i, new String(records.get(0), StandardCharsets.UTF_8));
+            spool.commit();
+        }
+        assertTrue(spool.isEmpty());
+        assertTrue(spool.read(1).isEmpty());
+        assertEquals(1, countSegments(directory));
+
+    }
+
+}
@@ -0,0 +1,66 @@
+package org.traccar.geocoder;
+
+import org.junit.jupiter.api.Test;
+import org.traccar.config.Config;
+import org.traccar.config.Keys;
+import org.traccar.database.MetricsManager;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+public class GeocoderCacheTest {
+
+    @Test
+    public void testCells() {
+
+        Config config = new Config();
+        config.setString(Keys.GEOCODER_CACHE_SIZE, "1000");
+        config.setString(Keys.GEOCODER_CACHE_CELL_SIZE, "100");
+        var cache = new GeocoderCache(config, new MetricsManager());
+
+        cache.put(59.33000, 18.06000, "Stockholm");
+        assertEquals("Stockholm", cache.get(59.33010, 18.06010));
+        assertNull(cache.get(59.34000, 18.06000));
+        assertNull(cache.get(-59.33000, -18.06000));
+
+        assertEquals(1, cache.getHits());
+        assertEquals(2, cache.getMisses());
+
+    }
+
+    @Test
+    public void testExactCoordinates() {
+
+        Config config = new Config();
+        config.setString(Keys.GEOCODER_CACHE_SIZE, "1000");
+        var cache = new GeocoderCache(config, new MetricsManager());
+
+        cache.put(10.0, 20.0, "address");
+        assertEquals("address", cache.get(10.0, 20.0));
+        assertNull(cache.get(10.0001, 20.0));
+
+    }
+
+    @Test
+    public void testPersistence() throws Exception {
+
+        Path file = Files.createTempDirectory("geocoder").resolve("cache");
+        Config config = new Config();
+        config.setString(Keys.GEOCODER_CACHE_SIZE, "1000");
+        config.setString(Keys.GEOCODER_CACHE_FILE, file.toString());
+
+        var cache = new GeocoderCache(config, new MetricsManager());
+        cache.start();
+        cache.put(10.0, 20.0, "address");
+        cache.stop();
+
+        cache = new GeocoderCache(config, new MetricsManager());
+        cache.start();
+        assertEquals("address", cache.get(10.0, 20.0));
+
+    }
+
+}
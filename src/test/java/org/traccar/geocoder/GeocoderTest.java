@@ -20,7 +20,7 @@ public class GeocoderTest {
     @Disabled
     @Test
     public void testGoogle() {
-        Geocoder geocoder = new GoogleGeocoder(client, null, null, null, 0, new AddressFormat());
+        Geocoder geocoder = new GoogleGeocoder(client, null, null, null, new AddressFormat());
         String address = geocoder.getAddress(31.776797, 35.211489, null);
         assertEquals("1 Ibn Shaprut St, Jerusalem, Jerusalem District, IL", address);
     }
@@ -28,7 +28,7 @@ public class GeocoderTest {
     @Disabled
     @Test
     public void testNominatim() {
-        Geocoder geocoder = new NominatimGeocoder(client, null, null, null, 0, new AddressFormat());
+        Geocoder geocoder = new NominatimGeocoder(client, null, null, null, new AddressFormat());
         String address = geocoder.getAddress(40.7337807, -73.9974401, null);
         assertEquals("35 West 9th Street, NYC, New York, US", address);
     }
@@ -36,7 +36,7 @@ public class GeocoderTest {
     @Disabled
     @Test
     public void testGisgraphy() {
-        Geocoder geocoder = new GisgraphyGeocoder(client, null, 0, new AddressFormat());
+        Geocoder geocoder = new GisgraphyGeocoder(client, null, new AddressFormat());
         String address = geocoder.getAddress(48.8530000, 2.3400000, null);
         assertEquals("Rue du Jardinet, Paris, Île-de-France, FR", address);
     }
@@ -45,7 +45,7 @@ public class GeocoderTest {
     @Test
     public void testOpenCage() {
         Geocoder geocoder = new OpenCageGeocoder(
-                client, "http://api.opencagedata.com/geocode/v1", "SECRET", null, 0, new AddressFormat());
+                client, "http://api.opencagedata.com/geocode/v1", "SECRET", null, new AddressFormat());
         String address = geocoder.getAddress(34.116302, -118.051519, null);
         assertEquals("Charleston Road, California, US", address);
     }
@@ -53,7 +53,7 @@ public class GeocoderTest {
     @Disabled
     @Test
     public void testGeocodeFarm() {
-        Geocoder geocoder = new GeocodeFarmGeocoder(client, null, null, 0, new AddressFormat());
+        Geocoder geocoder = new GeocodeFarmGeocoder(client, null, null, new AddressFormat());
         String address = geocoder.getAddress(34.116302, -118.051519, null);
         assertEquals("604 Estrella Ave, Arcadia, CA, United States", address);
     }
@@ -61,7 +61,7 @@ public class GeocoderTest {
     @Disabled
     @Test
     public void testGeocodeXyz() {
-        Geocoder geocoder = new GeocodeXyzGeocoder(client, null, 0, new AddressFormat());
+        Geocoder geocoder = new GeocodeXyzGeocoder(client, null, new AddressFormat());
         String address = geocoder.getAddress(34.116302, -118.051519, null);
         assertEquals("605 ESTRELLA AVE, ARCADIA, California United States of America, US", address);
     }
@@ -69,7 +69,7 @@ public class GeocoderTest {
     @Disabled
     @Test
     public void testBan() {
-        Geocoder geocoder = new BanGeocoder(client, 0, new AddressFormat());
+        Geocoder geocoder = new BanGeocoder(client, new AddressFormat());
         String address = geocoder.getAddress(48.8575, 2.2944, null);
         assertEquals("8 Avenue Gustave Eiffel, Paris, FR", address);
     }
@@ -77,7 +77,7 @@ public class GeocoderTest {
     @Disabled
     @Test
     public void testHere() {
-        Geocoder geocoder = new HereGeocoder(client, null, "aDc9qgsCpRbO9ioJIIAXzF6JYU7w8H5O260e9hsGrms", null, 0, new AddressFormat());
+        Geocoder geocoder = new HereGeocoder(client, null, "aDc9qgsCpRbO9ioJIIAXzF6JYU7w8H5O260e9hsGrms", null, new AddressFormat());
         String address = geocoder.getAddress(48.8575, 2.2944, null);
         assertEquals("1 Tour Eiffel, Paris, Île-de-France, FRA", address);
     }
@@ -85,7 +85,7 @@ public class GeocoderTest {
     @Disabled
     @Test
     public void testMapmyIndia() {
-        Geocoder geocoder = new MapmyIndiaGeocoder(client, "", "", 0, new AddressFormat("%f"));
+        Geocoder geocoder = new MapmyIndiaGeocoder(client, "", "", new AddressFormat("%f"));
         String address = geocoder.getAddress(28.6129602407977, 77.2294557094574, null);
         assertEquals("New Delhi, Delhi. 1 m from India Gate pin-110001 (India)", address);
     }
@@ -93,7 +93,7 @@ public class GeocoderTest {
     @Disabled
     @Test
     public void testPositionStack() {
-        Geocoder geocoder = new PositionStackGeocoder(client, "", 0, new AddressFormat("%f"));
+        Geocoder geocoder = new PositionStackGeocoder(client, "", new AddressFormat("%f"));
         String address = geocoder.getAddress(28.6129602407977, 77.2294557094574, null);
         assertEquals("India Gate, New Delhi, India", address);
     }
@@ -101,7 +101,7 @@ public class GeocoderTest {
     @Disabled
     @Test
     public void testMapbox() {
-        Geocoder geocoder = new MapboxGeocoder(client, "", 0, new AddressFormat("%f"));
+        Geocoder geocoder = new MapboxGeocoder(client, "", new AddressFormat("%f"));
         String address = geocoder.getAddress(40.733, -73.989, null);
         assertEquals("120 East 13th Street, New York, New York 10003, United States", address);
     }
@@ -109,7 +109,7 @@ public class GeocoderTest {
     @Disabled
     @Test
     public void testMapTiler() {
-        Geocoder geocoder = new MapTilerGeocoder(client, "", 0, new AddressFormat());
+        Geocoder geocoder = new MapTilerGeocoder(client, "", new AddressFormat());
         String address = geocoder.getAddress(40.733, -73.989, null);
         assertEquals("East 13th Street, New York City, New York, United States", address);
     }
@@ -117,7 +117,7 @@ public class GeocoderTest {
     @Disabled
     @Test
     public void testGeoapify() {
-        Geocoder geocoder = new GeoapifyGeocoder(client, "", null, 0, new AddressFormat());
+        Geocoder geocoder = new GeoapifyGeocoder(client, "", null, new AddressFormat());
         String address = geocoder.getAddress(40.733, -73.989, null);
         assertEquals("114 East 13th Street, New York, New York, US", address);
     }
@@ -125,7 +125,7 @@ public class GeocoderTest {
     @Disabled
     @Test
     public void testGeocodeJSON() {
-        Geocoder geocoder = new GeocodeJsonGeocoder(client, null, null, null, 0, new AddressFormat());
+        Geocoder geocoder = new GeocodeJsonGeocoder(client, null, null, null, new AddressFormat());
         String address = geocoder.getAddress(40.7337807, -73.9974401, null);
         assertEquals("35 West 9th Street, New York, New York, US", address);
     }
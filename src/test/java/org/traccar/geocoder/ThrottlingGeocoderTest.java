@@ -0,0 +1,108 @@
+package org.traccar.geocoder;
+
+import org.junit.jupiter.api.Test;
+import org.traccar.config.Config;
+import org.traccar.config.Keys;
+import org.traccar.database.StatisticsManager;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class ThrottlingGeocoderTest {
+
+    private static class PendingGeocoder implements Geocoder {
+
+        private final List<ReverseGeocoderCallback> callbacks = new ArrayList<>();
+
+        @Override
+        public String getAddress(double latitude, double longitude, ReverseGeocoderCallback callback) {
+            callbacks.add(callback);
+            return null;
+        }
+
+        @Override
+        public void setStatisticsManager(StatisticsManager statisticsManager) {
+        }
+    }
+
+    private static Geocoder.ReverseGeocoderCallback collect(List<String> results) {
+        return new Geocoder.ReverseGeocoderCallback() {
+            @Override
+            public void onSuccess(String address) {
+                results.add(address);
+            }
+
+            @Override
+            public void onFailure(Throwable e) {
+                results.add(null);
+            }
+        };
+    }
+
+    @Test
+    public void testCoalescing() {
+
+        Config config = new Config();
+        config.setString(Keys.GEOCODER_CACHE_CELL_SIZE, "100");
+        var provider = new PendingGeocoder();
+        var geocoder = new ThrottlingGeocoder(config, provider);
+
+        List<String> results = new ArrayList<>();
+        geocoder.getAddress(59.33000, 18.06000, collect(results));
+        geocoder.getAddress(59.33010, 18.06010, collect(results));
+        assertEquals(1, provider.callbacks.size());
+
+        provider.callbacks.get(0).onSuccess("address");
+        assertEquals(List.of("address", "address"), results);
+
+        geocoder.getAddress(59.33000, 18.06000, collect(results));
+        assertEquals(2, provider.callbacks.size());
+
+    }
+
+    @Test
+    public void testLimits() {
+
+        Config config = new Config();
+        config.setString(Keys.GEOCODER_RATE_LIMIT, "0.001");
+        config.setString(Keys.GEOCODER_MAX_CONCURRENT, "1");
+        var provider = new PendingGeocoder();
+        var geocoder = new ThrottlingGeocoder(config, provider);
+
+        List<String> results = new ArrayList<>();
+        geocoder.getAddress(10, 20, collect(results));
+        geocoder.getAddress(30, 40, collect(results));
+        assertEquals(1, provider.callbacks.size());
+        assertEquals(1, results.size());
+
+        provider.callbacks.get(0).onSuccess("address");
+        geocoder.getAddress(30, 40, collect(results));
+        assertEquals(1, provider.callbacks.size());
+        assertEquals(3, results.size());
+
+    }
+
+    @Test
+    public void testProviderException() {
+
+        Config config = new Config();
+        config.setString(Keys.GEOCODER_MAX_CONCURRENT, "1");
+        var provider = new PendingGeocoder() {
+            @Override
+            public String getAddress(double latitude, double longitude, ReverseGeocoderCallback callback) {
+                throw new IllegalStateException();
+            }
+        };
+        var geocoder = new ThrottlingGeocoder(config, provider);
+
+        List<String> results = new ArrayList<>();
+        geocoder.getAddress(10, 20, collect(results));
+        geocoder.getAddress(10, 20, collect(results));
+        assertEquals(Arrays.asList(null, null), results);
+
+    }
+
+}
@@ -24,4 +24,11 @@ public class GeofenceCircleTest {
         assertFalse(geofenceGeometry.containsPoint(55.75545, 37.61921));
     }
 
+    @Test
+    public void testContainsCircleAntimeridian() throws ParseException {
+        GeofenceGeometry geofenceGeometry = new GeofenceCircle("CIRCLE (10 179.9995, 200)");
+        assertTrue(geofenceGeometry.containsPoint(10, -179.9995));
+        assertFalse(geofenceGeometry.containsPoint(10, -179.99));
+    }
+
 }
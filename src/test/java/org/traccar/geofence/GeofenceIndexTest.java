@@ -0,0 +1,68 @@
+package org.traccar.geofence;
+
+import org.junit.jupiter.api.Test;
+import org.traccar.model.Geofence;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class GeofenceIndexTest {
+
+    private Geofence createGeofence(long id, String area) {
+        Geofence geofence = new Geofence();
+        geofence.setId(id);
+        geofence.setArea(area);
+        return geofence;
+    }
+
+    @Test
+    public void testSmallGeofences() {
+        var geofences = List.of(
+                createGeofence(1,
+                        "POLYGON ((55.75474 37.61823, 55.75513 37.61888, 55.7535 37.6222, 55.75315 37.62165))"),
+                createGeofence(2, "CIRCLE (55.75414 37.6204, 100)"),
+                createGeofence(3, "POLYGON ((66.9494 179.838, 66.9508 -179.8496, 66.8406 -180.0014))"));
+        var index = new GeofenceIndex(geofences);
+
+        assertEquals(List.of(1L), index.getGeofenceIds(55.75476, 37.61915));
+        assertEquals(List.of(2L), index.getGeofenceIds(55.75477, 37.62025));
+        assertEquals(List.of(3L), index.getGeofenceIds(66.9015, 179.991));
+        assertTrue(index.getGeofenceIds(55.75545, 37.61921).isEmpty());
+    }
+
+    @Test
+    public void testMatchesLinearScan() {
+        Random random = new Random(1);
+        List<Geofence> geofences = new ArrayList<>();
+        for (int i = 0; i < 10000; i++) {
+            double lat = 50 + random.nextDouble() * 10;
+            double lon = 30 + random.nextDouble() * 10;
+            double size = random.nextDouble() * (i % 100 == 0 ? 5 : 0.05);
+            if (i % 2 == 0) {
+                geofences.add(createGeofence(i, "POLYGON ((" + lat + " " + lon + ", " + (lat + size) + " " + lon
+                        + ", " + lat + " " + (lon + size) + "))"));
+            } else {
+                geofences.add(createGeofence(i, "CIRCLE (" + lat + " " + lon + ", " + size * 100000 + ")"));
+            }
+        }
+        var index = new GeofenceIndex(geofences);
+
+        for (int i = 0; i < 1000; i++) {
+            double lat = 50 + random.nextDouble() * 10;
+            double lon = 30 + random.nextDouble() * 10;
+            var expected = new HashSet<Long>();
+            for (Geofence geofence : geofences) {
+                if (geofence.getGeometry().containsPoint(lat, lon)) {
+                    expected.add(geofence.getId());
+                }
+            }
+            assertEquals(expected, new HashSet<>(index.getGeofenceIds(lat, lon)));
+        }
+    }
+
+}
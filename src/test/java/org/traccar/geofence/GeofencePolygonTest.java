@@ -49,4 +49,46 @@ public class GeofencePolygonTest {
         assertFalse(geofenceGeometry.containsPoint(50.9477, 0.5836));
     }
 
+    @Test
+    public void testContainsPolygonWithHole() throws ParseException {
+        GeofenceGeometry geofenceGeometry = new GeofencePolygon(
+                "POLYGON ((10 10, 10 20, 20 20, 20 10), (14 14, 14 16, 16 16, 16 14))");
+        assertTrue(geofenceGeometry.containsPoint(12, 12));
+        assertFalse(geofenceGeometry.containsPoint(15, 15));
+        assertFalse(geofenceGeometry.containsPoint(25, 15));
+    }
+
+    @Test
+    public void testContainsMultiPolygon() throws ParseException {
+        String test = "MULTIPOLYGON (((10.0 10.0, 10.0 20.0, 20.0 20.0, 20.0 10.0)), "
+                + "((30.0 30.0, 30.0 40.0, 40.0 40.0, 40.0 30.0), (34.0 34.0, 34.0 36.0, 36.0 36.0, 36.0 34.0)))";
+        GeofenceGeometry geofenceGeometry = new GeofencePolygon(test);
+        assertEquals(test, geofenceGeometry.toWkt());
+        assertTrue(geofenceGeometry.containsPoint(15, 15));
+        assertTrue(geofenceGeometry.containsPoint(32, 32));
+        assertFalse(geofenceGeometry.containsPoint(35, 35));
+        assertFalse(geofenceGeometry.containsPoint(25, 25));
+    }
+
+    @Test
+    public void testContainsLargePolygon() throws ParseException {
+        int count = 100000;
+        StringBuilder wkt = new StringBuilder("POLYGON ((");
+        for (int i = 0; i < count; i++) {
+            double angle = 2 * Math.PI * i / count;
+            double radius = i % 2 == 0 ? 1 : 0.99;
+            if (i > 0) {
+                wkt.append(", ");
+            }
+            wkt.append(10 + radius * Math.sin(angle)).append(' ').append(20 + radius * Math.cos(angle));
+        }
+        wkt.append("))");
+        GeofenceGeometry geofenceGeometry = new GeofencePolygon(wkt.toString());
+        for (int i = 0; i < 1000; i++) {
+            double angle = 2 * Math.PI * i / 1000;
+            assertTrue(geofenceGeometry.containsPoint(10 + 0.98 * Math.sin(angle), 20 + 0.98 * Math.cos(angle)));
+            assertFalse(geofenceGeometry.containsPoint(10 + 1.01 * Math.sin(angle), 20 + 1.01 * Math.cos(angle)));
+        }
+    }
+
 }
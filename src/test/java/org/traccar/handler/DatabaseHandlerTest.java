@@ -0,0 +1,65 @@
+package org.traccar.handler;
+
+import org.junit.jupiter.api.Test;
+import org.traccar.config.Config;
+import org.traccar.config.Keys;
+import org.traccar.database.StatisticsManager;
+import org.traccar.model.Position;
+import org.traccar.storage.Storage;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class DatabaseHandlerTest {
+
+    @Test
+    public void testStopFlushesBatch() throws Exception {
+
+        Config config = new Config();
+        config.setString(Keys.DATABASE_BATCH_SIZE, "10");
+        config.setString(Keys.DATABASE_BATCH_DELAY, "60000");
+        Storage storage = mock(Storage.class);
+        when(storage.addObjects(any(), any())).thenReturn(List.of(1L, 2L));
+        var handler = new DatabaseHandler(config, storage, mock(StatisticsManager.class), null);
+        handler.start();
+
+        Position first = new Position();
+        Position second = new Position();
+        AtomicInteger processed = new AtomicInteger();
+        handler.onPosition(first, filtered -> processed.incrementAndGet());
+        handler.onPosition(second, filtered -> processed.incrementAndGet());
+        assertEquals(0, processed.get());
+
+        handler.stop();
+        assertEquals(2, processed.get());
+        assertEquals(1, first.getId());
+        assertEquals(2, second.getId());
+
+    }
+
+    @Test
+    public void testWriterThread() throws Exception {
+
+        Config config = new Config();
+        config.setString(Keys.DATABASE_BATCH_SIZE, "10");
+        config.setString(Keys.DATABASE_BATCH_DELAY, "10");
+        Storage storage = mock(Storage.class);
+        when(storage.addObjects(any(), any())).thenReturn(List.of(1L));
+        var handler = new DatabaseHandler(config, storage, mock(StatisticsManager.class), null);
+        handler.start();
+
+        CompletableFuture<String> thread = new CompletableFuture<>();
+        handler.onPosition(new Position(), filtered -> thread.complete(Thread.currentThread().getName()));
+        assertEquals("database-writer", thread.get(5, TimeUnit.SECONDS));
+        handler.stop();
+
+    }
+
+}
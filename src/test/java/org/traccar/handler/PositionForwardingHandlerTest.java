@@ -0,0 +1,113 @@
+package org.traccar.handler;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.netty.util.Timeout;
+import io.netty.util.Timer;
+import io.netty.util.TimerTask;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.traccar.config.Config;
+import org.traccar.database.MetricsManager;
+import org.traccar.forward.PositionData;
+import org.traccar.forward.PositionSpool;
+import org.traccar.forward.ResultHandler;
+import org.traccar.model.Position;
+import org.traccar.session.cache.CacheManager;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+public class PositionForwardingHandlerTest {
+
+    private record Request(PositionData positionData, ResultHandler resultHandler) {
+        long getPositionId() {
+            return positionData.getPosition().getId();
+        }
+    }
+
+    private Position createPosition(long id) {
+        Position position = new Position();
+        position.setId(id);
+        position.setDeviceId(1);
+        return position;
+    }
+
+    private ExecutorService createExecutor() {
+        ExecutorService executor = mock(ExecutorService.class);
+        doAnswer(invocation -> {
+            invocation.<Runnable>getArgument(0).run();
+            return null;
+        }).when(executor).execute(any());
+        return executor;
+    }
+
+    @Test
+    public void testReplayOrder() throws Exception {
+
+        List<Request> requests = new ArrayList<>();
+        Timer timer = mock(Timer.class);
+        var spool = new PositionSpool(Files.createTempDirectory("spool"), 1024 * 1024);
+        var handler = new PositionForwardingHandler(
+                new Config(), mock(CacheManager.class), timer, createExecutor(), new ObjectMapper(),
+                (positionData, resultHandler) -> requests.add(new Request(positionData, resultHandler)),
+                spool, new MetricsManager());
+
+        handler.onPosition(createPosition(1), filtered -> { });
+        handler.onPosition(createPosition(2), filtered -> { });
+        assertEquals(2, requests.size());
+
+        requests.get(0).resultHandler().onResult(false, new IOException());
+        handler.onPosition(createPosition(3), filtered -> { });
+        requests.get(1).resultHandler().onResult(true, null);
+        assertEquals(2, requests.size());
+
+        ArgumentCaptor<TimerTask> task = ArgumentCaptor.forClass(TimerTask.class);
+        verify(timer, atLeastOnce()).newTimeout(task.capture(), anyLong(), any());
+        task.getAllValues().get(0).run(mock(Timeout.class));
+        assertEquals(3, requests.size());
+        assertEquals(1, requests.get(2).getPositionId());
+
+        requests.get(2).resultHandler().onResult(true, null);
+        assertEquals(4, requests.size());
+        assertEquals(3, requests.get(3).getPositionId());
+
+        requests.get(3).resultHandler().onResult(true, null);
+        assertTrue(spool.isEmpty());
+        handler.onPosition(createPosition(4), filtered -> { });
+        assertEquals(5, requests.size());
+        assertEquals(4, requests.get(4).getPositionId());
+
+    }
+
+    @Test
+    public void testInFlightLimit() throws Exception {
+
+        List<Request> requests = new ArrayList<>();
+        var spool = new PositionSpool(Files.createTempDirectory("spool"), 1024 * 1024);
+        var handler = new PositionForwardingHandler(
+                new Config(), mock(CacheManager.class), mock(Timer.class), createExecutor(), new ObjectMapper(),
+                (positionData, resultHandler) -> requests.add(new Request(positionData, resultHandler)),
+                spool, new MetricsManager());
+
+        for (int i = 0; i <= PositionForwardingHandler.MAX_IN_FLIGHT; i++) {
+            handler.onPosition(createPosition(i), filtered -> { });
+        }
+        assertEquals(PositionForwardingHandler.MAX_IN_FLIGHT, requests.size());
+        assertFalse(spool.isEmpty());
+
+    }
+
+}
@@ -0,0 +1,37 @@
+package org.traccar.helper;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class LatencyHistogramTest {
+
+    private int getBucket(long nanos) {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(nanos);
+        long[] counts = histogram.getCounts();
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] > 0) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @Test
+    public void testBoundaries() {
+        assertEquals(0, getBucket(-1));
+        assertEquals(0, getBucket(0));
+        assertEquals(0, getBucket(1024));
+        assertEquals(1, getBucket(1025));
+        assertEquals(1, getBucket(2048));
+        assertEquals(2, getBucket(2049));
+        for (int i = 0; i < LatencyHistogram.getBucketCount(); i++) {
+            long bound = Math.round(LatencyHistogram.getUpperBound(i) * 1e9);
+            assertEquals(i, getBucket(bound));
+            assertEquals(i + 1, getBucket(bound + 1));
+        }
+        assertEquals(LatencyHistogram.getBucketCount(), getBucket(Long.MAX_VALUE));
+    }
+
+}
@@ -0,0 +1,60 @@
+package org.traccar.reports;
+
+import org.junit.jupiter.api.Test;
+import org.traccar.config.Config;
+import org.traccar.config.Keys;
+import org.traccar.reports.common.ParallelReportExecutor;
+import org.traccar.storage.StorageException;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class ParallelReportExecutorTest {
+
+    private ParallelReportExecutor createExecutor(ExecutorService executorService) {
+        Config config = new Config();
+        config.setString(Keys.REPORT_CONCURRENCY, "4");
+        return new ParallelReportExecutor(config, executorService);
+    }
+
+    @Test
+    public void testPreservesOrder() throws StorageException {
+        ExecutorService executorService = Executors.newCachedThreadPool();
+        try {
+            var items = IntStream.range(0, 100).boxed().toList();
+            var results = createExecutor(executorService).execute(items, item -> {
+                try {
+                    Thread.sleep(item % 3);
+                } catch (InterruptedException e) {
+                    throw new StorageException(e);
+                }
+                return item * 2;
+            });
+            assertEquals(IntStream.range(0, 100).map(item -> item * 2).boxed().toList(), results);
+        } finally {
+            executorService.shutdown();
+        }
+    }
+
+    @Test
+    public void testPropagatesException() {
+        ExecutorService executorService = Executors.newCachedThreadPool();
+        try {
+            var executor = createExecutor(executorService);
+            assertThrows(StorageException.class, () -> executor.execute(List.of(1, 2, 3), item -> {
+                if (item == 2) {
+                    throw new StorageException("failed");
+                }
+                return item;
+            }));
+        } finally {
+            executorService.shutdown();
+        }
+    }
+
+}
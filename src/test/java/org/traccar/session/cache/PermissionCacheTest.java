@@ -0,0 +1,62 @@
+package org.traccar.session.cache;
+
+import org.junit.jupiter.api.Test;
+import org.traccar.config.Config;
+import org.traccar.model.Device;
+import org.traccar.model.ObjectOperation;
+import org.traccar.model.User;
+import org.traccar.storage.Storage;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class PermissionCacheTest {
+
+    private Device createDevice(long id) {
+        Device device = new Device();
+        device.setId(id);
+        return device;
+    }
+
+    @Test
+    public void testPermissions() throws Exception {
+
+        Storage storage = mock(Storage.class);
+        when(storage.getObjects(eq(Device.class), any())).thenReturn(List.of(createDevice(3), createDevice(1)));
+        var cache = new PermissionCache(new Config(), storage, mock(CacheManager.class));
+
+        assertTrue(cache.hasPermission(Device.class, 1, 1));
+        assertTrue(cache.hasPermission(Device.class, 1, 3));
+        assertFalse(cache.hasPermission(Device.class, 1, 2));
+        verify(storage, times(1)).getObjects(eq(Device.class), any());
+
+        cache.invalidateObject(false, User.class, 1, ObjectOperation.UPDATE);
+        assertTrue(cache.hasPermission(Device.class, 1, 1));
+        verify(storage, times(1)).getObjects(eq(Device.class), any());
+
+        cache.invalidatePermission(false, User.class, 1, Device.class, 2, true);
+        when(storage.getObjects(eq(Device.class), any())).thenReturn(List.of(createDevice(2)));
+        assertTrue(cache.hasPermission(Device.class, 1, 2));
+        verify(storage, times(2)).getObjects(eq(Device.class), any());
+
+        cache.invalidateObject(false, Device.class, 2, ObjectOperation.UPDATE);
+        when(storage.getObjects(eq(Device.class), any())).thenReturn(List.of());
+        assertFalse(cache.hasPermission(Device.class, 1, 2));
+        verify(storage, times(3)).getObjects(eq(Device.class), any());
+
+        cache.invalidateObject(false, Device.class, 4, ObjectOperation.ADD);
+        when(storage.getObjects(eq(Device.class), any())).thenReturn(List.of(createDevice(4)));
+        assertTrue(cache.hasPermission(Device.class, 1, 4));
+        verify(storage, times(4)).getObjects(eq(Device.class), any());
+
+    }
+
+}
@@ -0,0 +1,94 @@
+package org.traccar.session.cache;
+
+import org.junit.jupiter.api.Test;
+import org.traccar.config.Config;
+import org.traccar.config.Keys;
+import org.traccar.database.MetricsManager;
+import org.traccar.model.Device;
+import org.traccar.model.ObjectOperation;
+import org.traccar.model.Position;
+import org.traccar.storage.Storage;
+
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class RecentPositionCacheTest {
+
+    private Position createPosition(long time) {
+        Position position = new Position();
+        position.setDeviceId(1);
+        position.setTime(new Date(time));
+        return position;
+    }
+
+    @Test
+    public void testPreceding() throws Exception {
+
+        Config config = new Config();
+        config.setString(Keys.FILTER_RELATIVE_WINDOW, "3");
+        Storage storage = mock(Storage.class);
+        Position stored = createPosition(1000);
+        when(storage.getObject(eq(Position.class), any())).thenReturn(stored);
+        var cache = new RecentPositionCache(config, storage, new MetricsManager(), mock(CacheManager.class));
+
+        assertSame(stored, cache.getPreceding(1, new Date(1500)));
+        assertEquals(0, cache.getHits());
+        assertEquals(1, cache.getMisses());
+
+        Position second = createPosition(2000);
+        Position third = createPosition(3000);
+        cache.add(third);
+        cache.add(second);
+        assertSame(second, cache.getPreceding(1, new Date(2500)));
+        assertSame(third, cache.getPreceding(1, new Date(3500)));
+        assertSame(stored, cache.getPreceding(1, new Date(1000)));
+        assertEquals(3, cache.getHits());
+
+        cache.add(createPosition(4000));
+        assertSame(second, cache.getPreceding(1, new Date(2000)));
+        assertEquals(4, cache.getHits());
+
+        assertSame(stored, cache.getPreceding(1, new Date(1500)));
+        assertEquals(2, cache.getMisses());
+
+    }
+
+    @Test
+    public void testEmpty() throws Exception {
+
+        Storage storage = mock(Storage.class);
+        var cache = new RecentPositionCache(new Config(), storage, new MetricsManager(), mock(CacheManager.class));
+
+        assertNull(cache.getPreceding(1, new Date(1000)));
+        cache.add(createPosition(2000));
+        assertNull(cache.getPreceding(1, new Date(1000)));
+        assertEquals(1, cache.getHits());
+        assertEquals(1, cache.getMisses());
+
+    }
+
+    @Test
+    public void testDeviceDeleted() throws Exception {
+
+        Storage storage = mock(Storage.class);
+        var cache = new RecentPositionCache(new Config(), storage, new MetricsManager(), mock(CacheManager.class));
+
+        Position position = createPosition(2000);
+        cache.add(position);
+        assertSame(position, cache.getPreceding(1, new Date(3000)));
+        assertEquals(1, cache.getMisses());
+
+        cache.invalidateObject(false, Device.class, 1, ObjectOperation.DELETE);
+        assertNull(cache.getPreceding(1, new Date(3000)));
+        assertEquals(2, cache.getMisses());
+
+    }
+
+}
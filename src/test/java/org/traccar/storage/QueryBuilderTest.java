@@ -0,0 +1,69 @@
+package org.traccar.storage;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.Test;
+import org.traccar.config.Config;
+import org.traccar.model.Device;
+
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class QueryBuilderTest {
+
+    @Test
+    public void testObjectMapping() throws Exception {
+
+        var dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:mapping;DB_CLOSE_DELAY=-1");
+        var config = new Config();
+        var objectMapper = new ObjectMapper();
+
+        QueryBuilder.create(config, dataSource, objectMapper,
+                "CREATE TABLE tc_devices (id BIGINT AUTO_INCREMENT PRIMARY KEY, name VARCHAR(128), "
+                + "uniqueid VARCHAR(128), disabled BOOLEAN, lastupdate TIMESTAMP, groupid BIGINT, "
+                + "motiondistance DOUBLE, attributes VARCHAR(4000))").executeUpdate();
+
+        Device device = new Device();
+        device.setName("test");
+        device.setUniqueId("123456789012345");
+        device.setDisabled(true);
+        device.setLastUpdate(new Date(1700000000000L));
+        device.setMotionDistance(12.5);
+        device.set("speedLimit", 80.0);
+
+        List<String> columns = List.of(
+                "name", "uniqueId", "disabled", "lastUpdate", "groupId", "motionDistance", "attributes");
+        long id = QueryBuilder.create(config, dataSource, objectMapper,
+                "INSERT INTO tc_devices (name, uniqueid, disabled, lastupdate, groupid, motiondistance, attributes) "
+                + "VALUES (?, ?, ?, ?, ?, ?, ?)", true)
+                .setObject(device, columns).executeUpdate();
+
+        for (int i = 0; i < 2; i++) {
+            var result = QueryBuilder.create(config, dataSource, objectMapper, "SELECT * FROM tc_devices")
+                    .executeQuery(Device.class);
+            assertEquals(1, result.size());
+            Device item = result.get(0);
+            assertEquals(id, item.getId());
+            assertEquals("test", item.getName());
+            assertEquals("123456789012345", item.getUniqueId());
+            assertTrue(item.getDisabled());
+            assertEquals(1700000000000L, item.getLastUpdate().getTime());
+            assertEquals(0, item.getGroupId());
+            assertEquals(12.5, item.getMotionDistance());
+            assertEquals(80.0, item.getDouble("speedLimit"));
+            assertFalse(item.getMotionState());
+        }
+
+        var names = QueryBuilder.create(config, dataSource, objectMapper, "SELECT name FROM tc_devices")
+                .executeQuery(Device.class);
+        assertEquals("test", names.get(0).getName());
+        assertEquals(0, names.get(0).getId());
+
+    }
+
+}